@@ -0,0 +1,122 @@
+package com.mike.chao.jdbc.explorer.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.sqlite.SQLiteDataSource;
+
+/**
+ * Embedded databases for the benchmarks. Each fixture gets its own H2 in-memory database
+ * or SQLite file so runs with different sizes do not share state.
+ */
+public enum BenchmarkDatabase {
+
+    H2 {
+        @Override
+        public Fixture open() {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            return new Fixture(dataSource, null);
+        }
+    },
+
+    SQLITE {
+        @Override
+        public Fixture open() throws IOException {
+            Path file = Files.createTempFile("jdbc-explorer-bench", ".db");
+            SQLiteDataSource dataSource = new SQLiteDataSource();
+            dataSource.setUrl("jdbc:sqlite:" + file);
+            return new Fixture(dataSource, file);
+        }
+    };
+
+    public abstract Fixture open() throws IOException;
+
+    /**
+     * An open benchmark database, deleted again by {@link #close()}.
+     */
+    public record Fixture(DataSource dataSource, Path file) implements AutoCloseable {
+
+        /**
+         * Creates the {@code events} table with the given number of rows.
+         */
+        public Fixture withEvents(int rows) throws SQLException {
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(false);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("""
+                        CREATE TABLE events (
+                            id INTEGER PRIMARY KEY,
+                            account_id INTEGER NOT NULL,
+                            kind VARCHAR(32) NOT NULL,
+                            amount DECIMAL(12, 2),
+                            created_at TIMESTAMP,
+                            note VARCHAR(255))""");
+                }
+                try (PreparedStatement insert = conn.prepareStatement(
+                        "INSERT INTO events (id, account_id, kind, amount, created_at, note) VALUES (?, ?, ?, ?, ?, ?)")) {
+                    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+                    for (int i = 0; i < rows; i++) {
+                        insert.setInt(1, i);
+                        insert.setInt(2, i % 1000);
+                        insert.setString(3, i % 3 == 0 ? "purchase" : "refund");
+                        insert.setDouble(4, (i % 10_000) / 100.0);
+                        insert.setTimestamp(5, Timestamp.valueOf(start.plusMinutes(i)));
+                        insert.setString(6, i % 5 == 0 ? null : "note " + i);
+                        insert.addBatch();
+                        if (i % 10_000 == 9_999) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                conn.commit();
+            }
+            return this;
+        }
+
+        /**
+         * Creates {@code count} tables, each with a primary key, a foreign key to the previous
+         * table and an index, so metadata calls have every kind of detail to return.
+         */
+        public Fixture withTables(int count) throws SQLException {
+            try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+                conn.setAutoCommit(false);
+                for (int i = 0; i < count; i++) {
+                    String parent = i == 0 ? "" : ", parent_id INTEGER REFERENCES table_%d(id)".formatted(i - 1);
+                    stmt.execute("""
+                        CREATE TABLE table_%d (
+                            id INTEGER PRIMARY KEY,
+                            name VARCHAR(64) NOT NULL,
+                            amount DECIMAL(12, 2),
+                            updated_at TIMESTAMP%s)""".formatted(i, parent));
+                    stmt.execute("CREATE INDEX table_%d_name ON table_%d (name)".formatted(i, i));
+                }
+                conn.commit();
+            }
+            return this;
+        }
+
+        @Override
+        public void close() throws IOException, SQLException {
+            if (file == null) {
+                try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+                    stmt.execute("SHUTDOWN");
+                }
+            } else {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
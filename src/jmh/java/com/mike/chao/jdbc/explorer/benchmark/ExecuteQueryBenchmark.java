@@ -0,0 +1,100 @@
+package com.mike.chao.jdbc.explorer.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+
+import com.mike.chao.jdbc.explorer.ExplorerService;
+import com.mike.chao.jdbc.explorer.config.QuerySettings;
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+import com.mike.chao.jdbc.explorer.query.QueryResultConverter;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Measures executeQuery from the JDBC read through to the JSON the MCP client receives.
+ * Run with {@code -prof gc} (the default {@code jmh.args}) to report the allocation rate per call.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecuteQueryBenchmark {
+
+    private static final String QUERY = "SELECT id, account_id, kind, amount, created_at, note FROM events";
+
+    @Param({"H2", "SQLITE"})
+    private BenchmarkDatabase database;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"rows", "compact", "columnar"})
+    private String format;
+
+    private BenchmarkDatabase.Fixture fixture;
+    private ExplorerService explorerService;
+    private QueryResultConverter resultConverter;
+    private McpServerFeatures.SyncToolSpecification executeQueryTool;
+    private McpSyncServerExchange exchange;
+    private Map<String, Object> arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = database.open().withEvents(rows);
+        // no row or size limit so every row of the fixture is materialized
+        explorerService = ExplorerService.builder(fixture.dataSource())
+            .querySettings(new QuerySettings(500, 0, 0, 300_000, 4)).build();
+        resultConverter = new QueryResultConverter();
+        ToolCallback callback = explorerService.getToolCallbacks().stream()
+            .filter(toolCallback -> toolCallback.getToolDefinition().name().equals("executeQuery"))
+            .findFirst()
+            .orElseThrow();
+        executeQueryTool = McpToolUtils.toSyncToolSpecification(callback);
+        // the ExplorerService tools do not use the exchange, it only has to be present in the tool context
+        exchange = new McpSyncServerExchange(null);
+        arguments = Map.of("query", QUERY, "format", format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    /** Reading the result set into a {@link QueryResult}. */
+    @Benchmark
+    public QueryResult executeQuery() {
+        return explorerService.executeQuery(QUERY, null, format);
+    }
+
+    /** Reading the result set and serializing it as the tool does. */
+    @Benchmark
+    public String executeQueryToJson() {
+        return resultConverter.convert(explorerService.executeQuery(QUERY, null, format), QueryResult.class);
+    }
+
+    /** The full MCP call path: argument parsing, the tool callback, serialization and the result wrapper. */
+    @Benchmark
+    public McpSchema.CallToolResult toolCall() {
+        return executeQueryTool.call().apply(exchange, arguments);
+    }
+}
@@ -0,0 +1,107 @@
+package com.mike.chao.jdbc.explorer.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+
+import com.mike.chao.jdbc.explorer.ExplorerService;
+import com.mike.chao.jdbc.explorer.cache.SchemaCache;
+import com.mike.chao.jdbc.explorer.data.TableDetails;
+import com.mike.chao.jdbc.explorer.data.TableInfo;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Measures the metadata tools against schemas of different sizes.
+ * The schema cache is disabled so every call goes to the database, {@code describeTableCached}
+ * shows the cost of a cache hit for comparison.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataBenchmark {
+
+    @Param({"H2", "SQLITE"})
+    private BenchmarkDatabase database;
+
+    @Param({"10", "200", "2000"})
+    private int tables;
+
+    private BenchmarkDatabase.Fixture fixture;
+    private ExplorerService uncachedService;
+    private ExplorerService cachedService;
+    private String tableName;
+    private McpServerFeatures.SyncToolSpecification describeTableTool;
+    private McpSyncServerExchange exchange;
+    private Map<String, Object> arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = database.open().withTables(tables);
+        uncachedService = ExplorerService.builder(fixture.dataSource()).schemaCache(new SchemaCache(0, 0)).build();
+        cachedService = ExplorerService.builder(fixture.dataSource()).schemaCache(SchemaCache.defaults()).build();
+        // H2 stores unquoted identifiers in upper case
+        tableName = database == BenchmarkDatabase.H2 ? "TABLE_" + (tables / 2) : "table_" + (tables / 2);
+        cachedService.describeTable(null, null, tableName);
+
+        ToolCallback callback = uncachedService.getToolCallbacks().stream()
+            .filter(toolCallback -> toolCallback.getToolDefinition().name().equals("describeTable"))
+            .findFirst()
+            .orElseThrow();
+        describeTableTool = McpToolUtils.toSyncToolSpecification(callback);
+        exchange = new McpSyncServerExchange(null);
+        arguments = Map.of("tableName", tableName);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public TableDetails describeTable() {
+        return uncachedService.describeTable(null, null, tableName);
+    }
+
+    @Benchmark
+    public TableDetails describeTableCached() {
+        return cachedService.describeTable(null, null, tableName);
+    }
+
+    @Benchmark
+    public List<TableInfo> getTableNames() {
+        return uncachedService.getTableNames();
+    }
+
+    @Benchmark
+    public List<TableDetails> describeSchema() {
+        return uncachedService.describeSchema(null, null);
+    }
+
+    /** The full MCP call path for describeTable. */
+    @Benchmark
+    public McpSchema.CallToolResult describeTableToolCall() {
+        return describeTableTool.call().apply(exchange, arguments);
+    }
+}
@@ -0,0 +1,79 @@
+package com.mike.chao.jdbc.explorer.benchmark;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mike.chao.jdbc.explorer.query.QueryResultConverter;
+import com.mike.chao.jdbc.explorer.query.ResultFormat;
+import com.mike.chao.jdbc.explorer.query.ResultSetReader;
+import com.mike.chao.jdbc.explorer.query.RowBatch;
+
+/**
+ * Compares reading every value with {@code getObject} against the per-column readers chosen from the
+ * column types. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} of the two readers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSetReaderBenchmark {
+
+    private static final String QUERY = "SELECT id, account_id, kind, amount, created_at, note FROM events";
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    /** {@code typed} uses the per-column readers, {@code getObject} the generic getter. */
+    @Param({"typed", "getObject"})
+    private String reader;
+
+    private BenchmarkDatabase.Fixture fixture;
+    private Connection connection;
+    private final QueryResultConverter resultConverter = new QueryResultConverter();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = BenchmarkDatabase.H2.open().withEvents(rows);
+        connection = fixture.dataSource().getConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        fixture.close();
+    }
+
+    /** Reading the rows into a {@link RowBatch}. */
+    @Benchmark
+    public RowBatch read() throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(QUERY)) {
+            return new ResultSetReader(rs, ResultFormat.COMPACT, reader.equals("typed")).read(0, 0);
+        }
+    }
+
+    /** Reading the rows and writing them as JSON, where the driver objects of {@code getObject} cost the most. */
+    @Benchmark
+    public String readToJson() throws SQLException {
+        return resultConverter.convert(read().toRowArrays(), List.class);
+    }
+}
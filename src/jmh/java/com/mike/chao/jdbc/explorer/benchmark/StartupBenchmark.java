@@ -0,0 +1,118 @@
+package com.mike.chao.jdbc.explorer.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time from launching the server until it answers {@code tools/list} over STDIO.
+ * Needs the jar in {@code target}, the {@code fast-startup} launch also needs the extracted
+ * layout and CDS archive built with {@code -Pfast-startup package}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final String INITIALIZE = """
+        {"jsonrpc":"2.0","id":1,"method":"initialize","params":{"protocolVersion":"2024-11-05",\
+        "capabilities":{},"clientInfo":{"name":"startup-benchmark","version":"1.0"}}}""";
+    private static final String INITIALIZED = """
+        {"jsonrpc":"2.0","method":"notifications/initialized"}""";
+    private static final String TOOLS_LIST = """
+        {"jsonrpc":"2.0","id":2,"method":"tools/list"}""";
+
+    /**
+     * {@code jar} runs the plain jar, {@code lazy} adds the fast-startup profile and
+     * {@code fast-startup} also runs the AOT code from the extracted layout with the CDS archive.
+     */
+    @Param({"jar", "lazy", "fast-startup"})
+    private String launch;
+
+    private List<String> command;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path target = Path.of(System.getProperty("startup.target", "target"));
+        Path jar = findJar(target);
+        command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        switch (launch) {
+            case "jar" -> command.addAll(List.of("-jar", jar.toString()));
+            case "lazy" -> command.addAll(List.of("-jar", jar.toString(), "--spring.profiles.active=fast-startup"));
+            case "fast-startup" -> {
+                Path application = target.resolve("application");
+                Path archive = application.resolve("application.jsa");
+                if (!Files.exists(archive)) {
+                    throw new IllegalStateException("No CDS archive in " + application + ", build with -Pfast-startup package");
+                }
+                command.addAll(List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                    "-jar", application.resolve(jar.getFileName()).toString(), "--spring.profiles.active=fast-startup"));
+            }
+            default -> throw new IllegalArgumentException("Unknown launch " + launch);
+        }
+        command.add("--db.url=jdbc:h2:mem:startup");
+    }
+
+    @Benchmark
+    public String startToToolsList() throws IOException {
+        process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        Writer stdin = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        for (String message : List.of(INITIALIZE, INITIALIZED, TOOLS_LIST)) {
+            stdin.write(message);
+            stdin.write('\n');
+        }
+        stdin.flush();
+
+        BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        for (String line = stdout.readLine(); line != null; line = stdout.readLine()) {
+            if (line.contains("\"id\":2")) {
+                return line;
+            }
+        }
+        throw new IllegalStateException("Server exited with " + process.exitValue() + " before answering tools/list");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopServer() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Path findJar(Path target) throws IOException {
+        try (Stream<Path> files = Files.list(target)) {
+            return files
+                .filter(file -> file.getFileName().toString().matches("jdbc\\.explorer-.*\\.jar"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No jar in " + target + ", build with package first"));
+        }
+    }
+}
@@ -2,9 +2,13 @@ package com.mike.chao.jdbc.explorer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.mike.chao.jdbc.explorer.config.NativeHints;
 
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class Application {
 
 	public static void main(String[] args) {
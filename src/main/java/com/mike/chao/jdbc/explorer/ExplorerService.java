@@ -2,11 +2,28 @@ package com.mike.chao.jdbc.explorer;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
 
 import javax.sql.DataSource;
 
@@ -18,55 +35,558 @@ import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.ai.tool.definition.ToolDefinition;
 import org.springframework.ai.tool.execution.ToolExecutionException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.mike.chao.jdbc.explorer.cache.ResultCache;
+import com.mike.chao.jdbc.explorer.cache.SchemaCache;
+import com.mike.chao.jdbc.explorer.config.Dialect;
+import com.mike.chao.jdbc.explorer.config.QueryBudget;
+import com.mike.chao.jdbc.explorer.config.QuerySettings;
 import com.mike.chao.jdbc.explorer.data.ColumnDetail;
 import com.mike.chao.jdbc.explorer.data.ForeignKeyDetail;
 import com.mike.chao.jdbc.explorer.data.IndexDetail;
+import com.mike.chao.jdbc.explorer.data.QueryOutcome;
+import com.mike.chao.jdbc.explorer.data.QueryParameter;
+import com.mike.chao.jdbc.explorer.data.QueryPlan;
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+import com.mike.chao.jdbc.explorer.data.SchemaCacheStatus;
 import com.mike.chao.jdbc.explorer.data.TableDetails;
 import com.mike.chao.jdbc.explorer.data.TableInfo;
+import com.mike.chao.jdbc.explorer.data.TableProfile;
+import com.mike.chao.jdbc.explorer.data.TableSample;
+import com.mike.chao.jdbc.explorer.data.TableStats;
+import com.mike.chao.jdbc.explorer.metrics.ToolMetrics;
+import com.mike.chao.jdbc.explorer.query.ExecutionMode;
+import com.mike.chao.jdbc.explorer.query.ParameterType;
+import com.mike.chao.jdbc.explorer.query.QueryCursor;
+import com.mike.chao.jdbc.explorer.query.QueryCursorRegistry;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+import com.mike.chao.jdbc.explorer.query.QueryResultConverter;
+import com.mike.chao.jdbc.explorer.query.ResultFormat;
+import com.mike.chao.jdbc.explorer.query.ResultSetReader;
+import com.mike.chao.jdbc.explorer.query.RowBatch;
+import com.mike.chao.jdbc.explorer.query.SqlText;
+import com.mike.chao.jdbc.explorer.session.McpSession;
+import com.mike.chao.jdbc.explorer.stats.QueryExplainer;
+import com.mike.chao.jdbc.explorer.stats.TableProfiler;
+import com.mike.chao.jdbc.explorer.stats.TableSampler;
+import com.mike.chao.jdbc.explorer.stats.TableStatsReader;
+import com.zaxxer.hikari.HikariDataSource;
 
 @Service
-public class ExplorerService {
+public class ExplorerService implements AutoCloseable {
+
+    /** Rows read per page by profileTable when no fetch size is configured. */
+    private static final int PROFILE_PAGE_ROWS = 1000;
+    /** Rows sampleTable returns when neither rows nor percent is passed. */
+    private static final int DEFAULT_SAMPLE_ROWS = 100;
 
     private final DataSource dataSource;
+    private final QuerySettings querySettings;
+    private final QueryCursorRegistry cursorRegistry;
+    private final SchemaCache schemaCache;
+    private final QueryGuard queryGuard;
+    private final ToolMetrics toolMetrics;
+    private final ResultCache resultCache;
+    private final QueryBudget queryBudget;
+    private final ExecutorService queryExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("execute-queries-", 0).factory());
+    /** The @Tool callbacks, resolved on first use rather than from the constructor while this is incomplete. */
+    private volatile ToolCatalog tools;
     private final Logger logger = LoggerFactory.getLogger(ExplorerService.class);
 
-    @Autowired
-    public ExplorerService(DataSource dataSource) {
+    /**
+     * Arguments left null fall back to their defaults, see {@link #builder(DataSource)} for creating the
+     * service outside Spring.
+     */
+    public ExplorerService(DataSource dataSource, QuerySettings querySettings, QueryCursorRegistry cursorRegistry,
+            SchemaCache schemaCache, QueryGuard queryGuard, ToolMetrics toolMetrics, ResultCache resultCache,
+            QueryBudget queryBudget) {
         this.dataSource = dataSource;
+        this.querySettings = Objects.requireNonNullElseGet(querySettings, QuerySettings::defaults);
+        this.cursorRegistry = Objects.requireNonNullElseGet(cursorRegistry,
+            () -> new QueryCursorRegistry(this.querySettings.cursorIdleTimeoutMillis(), this.querySettings.maxOpenCursors()));
+        this.schemaCache = Objects.requireNonNullElseGet(schemaCache, SchemaCache::defaults);
+        this.queryGuard = Objects.requireNonNullElseGet(queryGuard, QueryGuard::defaults);
+        this.toolMetrics = Objects.requireNonNullElseGet(toolMetrics, ToolMetrics::simple);
+        this.resultCache = Objects.requireNonNullElseGet(resultCache, ResultCache::disabled);
+        this.queryBudget = Objects.requireNonNullElseGet(queryBudget, QueryBudget::unlimited);
     }
 
-    @Tool(name = "executeQuery", description = "Execute a SQL query and return the results")
-    public List<Map<String, Object>> executeQuery(@ToolParam(description = "SQL query to execute", required = true) String query) {
-        List<Map<String, Object>> results = new ArrayList<>();
-        try (var conn = dataSource.getConnection();
-            var stmt = conn.createStatement();
-            var rs = stmt.executeQuery(query)) {
-            var rsmd = rs.getMetaData();
-            int columnCount = rsmd.getColumnCount();
-            while (rs.next()) {
-                Map<String, Object> row = new HashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = rsmd.getColumnName(i);
-                    Object value = rs.getObject(i);
-                    row.put(columnName, value);
+    /**
+     * The tool callbacks for the methods annotated with @Tool in this class,
+     * resolved once on the first call.
+     * @return an immutable list of tool callbacks
+     */
+    public List<ToolCallback> getToolCallbacks() {
+        return tools().callbacks();
+    }
+
+    /**
+     * Resolves the @Tool methods once, reflecting over the class and building the JSON schemas is not cheap.
+     */
+    private ToolCatalog tools() {
+        ToolCatalog catalog = tools;
+        if (catalog == null) {
+            synchronized (this) {
+                catalog = tools;
+                if (catalog == null) {
+                    List<ToolCallback> callbacks = List.of(ToolCallbacks.from(this));
+                    catalog = new ToolCatalog(callbacks, callbacks.stream()
+                        .map(ToolCallback::getToolDefinition)
+                        .collect(Collectors.toUnmodifiableMap(ToolDefinition::name, Function.identity())));
+                    tools = catalog;
                 }
-                results.add(row);
             }
+        }
+        return catalog;
+    }
+
+    private record ToolCatalog(List<ToolCallback> callbacks, Map<String, ToolDefinition> definitions) {}
+
+    /**
+     * Stops the threads running {@code executeQueries}, interrupting queries still running so the
+     * {@link QueryGuard} cancels them. Spring calls it on shutdown.
+     */
+    @Override
+    public void close() {
+        queryExecutor.shutdownNow();
+    }
+
+    public QueryResult executeQuery(String query) {
+        return executeQuery(query, null, null);
+    }
+
+    @Tool(name = "executeQuery", resultConverter = QueryResultConverter.class, description = """
+        Execute a SQL query and return the results. Large results are truncated to the configured row and size limits, \
+        check 'truncated' in the response. Pass pageSize to keep the result open and read the remaining rows \
+        with fetchNextPage using the returned cursor instead of re-running the query with LIMIT/OFFSET. \
+        Use format 'compact' or 'columnar' on wide or large results to list column names once instead of in every row.""")
+    public QueryResult executeQuery(
+        @ToolParam(description = "SQL query to execute", required = true) String query,
+        @ToolParam(description = "Number of rows in the first page. When set, a cursor is returned if more rows remain", required = false) Integer pageSize,
+        @ToolParam(description = """
+            Result format: 'rows' (default) returns an object per row, 'compact' returns the columns once and an array per row, \
+            'columnar' returns the columns once and an array of values per column""", required = false) String format) {
+        try {
+            QueryResult result = runQuery(query, null, pageSize, ResultFormat.from(format));
+            toolMetrics.recordRows("executeQuery", result.rowCount());
+            return result;
         } catch (Exception e) {
             logger.error("Error executing query: {} message: {}", query, e.getMessage(), e);
-            ToolDefinition toolDefinition = getToolDefinition("executeQuery");
-            throw new ToolExecutionException(toolDefinition, e);
+            throw toolError("executeQuery", e);
+        }
+    }
+
+    @Tool(name = "executeParameterizedQuery", resultConverter = QueryResultConverter.class, description = """
+        Execute a SQL query with '?' placeholders and a typed value for each placeholder, in order. \
+        Prefer it over executeQuery when the same query runs with different values: the values never need quoting \
+        and the database reuses the prepared statement instead of parsing and planning the query again. \
+        Results, pageSize and format work as in executeQuery.""")
+    public QueryResult executeParameterizedQuery(
+        @ToolParam(description = "SQL query with a '?' placeholder for each parameter", required = true) String query,
+        @ToolParam(description = "Values for the placeholders, the first value binds to the first '?'", required = false) List<QueryParameter> parameters,
+        @ToolParam(description = "Number of rows in the first page. When set, a cursor is returned if more rows remain", required = false) Integer pageSize,
+        @ToolParam(description = """
+            Result format: 'rows' (default), 'compact' or 'columnar', as in executeQuery""", required = false) String format) {
+        try {
+            QueryResult result = runQuery(query, Objects.requireNonNullElse(parameters, List.of()), pageSize,
+                ResultFormat.from(format));
+            toolMetrics.recordRows("executeParameterizedQuery", result.rowCount());
+            return result;
+        } catch (Exception e) {
+            logger.error("Error executing query: {} with {} message: {}", query, parameters, e.getMessage(), e);
+            throw toolError("executeParameterizedQuery", e);
+        }
+    }
+
+    @Tool(name = "executeQueries", resultConverter = QueryResultConverter.class, description = """
+        Execute several independent SQL queries at the same time, for example the aggregates of a dashboard, \
+        instead of calling executeQuery for each one. Returns the result or error of every query with its index \
+        in the list and how long it took. A slow or failing query does not hold up the others. \
+        Results are truncated to the same limits as executeQuery.""")
+    public List<QueryOutcome> executeQueries(
+        @ToolParam(description = "SQL queries to execute, none may depend on the results of another", required = true) List<String> queries,
+        @ToolParam(description = """
+            Result format for every query: 'rows' (default), 'compact' or 'columnar', as in executeQuery""", required = false) String format) {
+        try {
+            if (queries == null || queries.isEmpty()) {
+                throw new IllegalArgumentException("At least one query is required.");
+            }
+            ResultFormat resultFormat = ResultFormat.from(format);
+            Semaphore parallelism = new Semaphore(querySettings.maxParallelQueries());
+            List<Future<QueryOutcome>> outcomes = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) {
+                int index = i;
+                outcomes.add(queryExecutor.submit(() -> runOutcome(index, queries.get(index), resultFormat, parallelism)));
+            }
+            List<QueryOutcome> results = new ArrayList<>(outcomes.size());
+            try {
+                for (Future<QueryOutcome> outcome : outcomes) {
+                    results.add(outcome.get());
+                }
+            } finally {
+                // if this call is interrupted, interrupting the queries still running lets the QueryGuard cancel them
+                outcomes.forEach(outcome -> outcome.cancel(true));
+            }
+            return results;
+        } catch (Exception e) {
+            logger.error("Error executing queries: {} message: {}", queries, e.getMessage(), e);
+            throw toolError("executeQueries", e);
         }
-        return results;
+    }
+
+    private QueryOutcome runOutcome(int index, String query, ResultFormat format, Semaphore parallelism)
+            throws InterruptedException {
+        parallelism.acquire();
+        long start = System.nanoTime();
+        try {
+            QueryResult result = runQuery(query, null, null, format);
+            toolMetrics.recordRows("executeQueries", result.rowCount());
+            return new QueryOutcome(index, result, null, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.error("Error executing query {}: {} message: {}", index, query, e.getMessage(), e);
+            toolMetrics.recordError("executeQueries", e);
+            return new QueryOutcome(index, null, e.getMessage(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            parallelism.release();
+        }
+    }
+
+    /**
+     * Runs a query through the mode check, the result cache and the {@link QueryGuard}.
+     * With parameters, even an empty list, the query runs as a {@link PreparedStatement}.
+     * With a page size the result stays open in a cursor and is never cached.
+     */
+    private QueryResult runQuery(String query, List<QueryParameter> parameters, Integer pageSize,
+            ResultFormat resultFormat) throws Exception {
+        querySettings.mode().check(query);
+        SqlText sqlText = SqlText.of(query);
+        Optional<QueryResult> cached = pageSize == null
+            ? resultCache.get(sqlText, parameters, resultFormat)
+            : Optional.empty();
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        try {
+            return guarded(execution -> pageSize == null
+                ? executeBounded(query, parameters, sqlText, resultFormat, execution)
+                : openCursor(query, parameters, pageSize, resultFormat, execution));
+        } finally {
+            // some drivers run a write passed to executeQuery before failing, so invalidate either way
+            if (!sqlText.isQuery()) {
+                resultCache.invalidateAll();
+                // the statement may have been DDL that changed the tables described
+                schemaCache.invalidate(null, null, null);
+            }
+        }
+    }
+
+    @Tool(name = "explainQuery", description = """
+        Show the plan the database would use for a query without running it: the estimated cost and rows where \
+        the database reports them and the tables it would read in full. Use it to check a join or a query on a large \
+        table before running it. When a cost budget is configured, executeQuery rejects queries over it with this plan.""")
+    public QueryPlan explainQuery(
+        @ToolParam(description = "SQL query to explain", required = true) String query,
+        @ToolParam(description = "Values for the '?' placeholders of the query, in order", required = false) List<QueryParameter> parameters) {
+        try {
+            querySettings.mode().check(query);
+            SqlText sqlText = SqlText.of(query);
+            // the text goes after EXPLAIN, so 'ANALYZE DELETE ...' would make it run the delete
+            if (!sqlText.isExplainable()) {
+                throw new IllegalArgumentException("""
+                    Only queries starting with SELECT, WITH, VALUES or TABLE can be explained.""");
+            }
+            if (sqlText.hasMultipleStatements()) {
+                throw new IllegalArgumentException("Only a single query can be explained.");
+            }
+            return guarded(execution -> {
+                try (var conn = borrowConnection()) {
+                    Dialect dialect = Dialect.of(conn).orElse(null);
+                    if (!QueryExplainer.supports(dialect)) {
+                        throw new SQLFeatureNotSupportedException("Explaining queries is not supported for this database");
+                    }
+                    return QueryExplainer.explain(conn, execution, dialect, query, parameters);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error explainQuery for {} message: {}", query, e.getMessage(), e);
+            throw toolError("explainQuery", e);
+        }
+    }
+
+    /**
+     * Explains a query before it runs and rejects it when its estimates go over the {@link QueryBudget}.
+     * Only queries are checked, as EXPLAIN does not take every other statement, and only on databases
+     * whose plans can be read.
+     */
+    private void checkBudget(Connection conn, String query, List<QueryParameter> parameters, SqlText sqlText,
+            QueryGuard.Execution execution) throws SQLException {
+        if (!queryBudget.enabled() || !sqlText.isExplainable()) {
+            return;
+        }
+        Dialect dialect = Dialect.of(conn).orElse(null);
+        if (!QueryExplainer.supports(dialect)) {
+            return;
+        }
+        if (sqlText.hasMultipleStatements()) {
+            // the statements after the first would run for real behind the EXPLAIN
+            throw new IllegalArgumentException("Only a single query can be checked against the cost budget.");
+        }
+        queryBudget.check(QueryExplainer.explain(conn, execution, dialect, query, parameters));
+    }
+
+    @Tool(name = "fetchNextPage", resultConverter = QueryResultConverter.class, description = """
+        Fetch the next page of rows from a cursor returned by executeQuery. \
+        The cursor is closed once all rows have been read and expires when left idle.""")
+    public QueryResult fetchNextPage(
+        @ToolParam(description = "Cursor returned by executeQuery or a previous fetchNextPage call", required = true) String cursor,
+        @ToolParam(description = "Number of rows to fetch", required = false) Integer pageSize) {
+        try {
+            // cursors of other sessions are reported as missing so their tokens cannot be probed
+            QueryCursor queryCursor = cursorRegistry.get(cursor)
+                .filter(c -> c.sessionId().equals(McpSession.current()))
+                .orElseThrow(() -> new IllegalArgumentException("""
+                    Cursor '%s' does not exist or has expired.""".formatted(cursor)));
+            RowBatch batch = guarded(execution -> {
+                if (!queryCursor.isBuffered()) {
+                    execution.watch(queryCursor.statement());
+                }
+                return queryCursor.read(pageRows(pageSize), querySettings.maxBytes());
+            });
+            if (queryCursor.isClosed()) {
+                cursorRegistry.remove(cursor);
+            }
+            toolMetrics.recordRows("fetchNextPage", batch.rows().size());
+            return toQueryResult(queryCursor.format(), queryCursor.reader(), batch, queryCursor.isClosed() ? null : cursor);
+        } catch (Exception e) {
+            logger.error("Error fetchNextPage for {} message: {}", cursor, e.getMessage(), e);
+            throw toolError("fetchNextPage", e);
+        }
+    }
+
+    /**
+     * Borrows a connection from the data source and applies the configured {@link ExecutionMode}.
+     */
+    private Connection borrowConnection() throws SQLException {
+        var conn = dataSource.getConnection();
+        try {
+            querySettings.mode().prepare(conn);
+            return conn;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                conn.close();
+            } catch (SQLException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the work while holding one of the query slots of the {@link QueryGuard}.
+     * If the guard cancelled the statement, the resulting error says why.
+     */
+    private <T> T guarded(GuardedWork<T> work) throws SQLException, InterruptedException {
+        try (var execution = queryGuard.admit()) {
+            try {
+                return work.run(execution);
+            } catch (SQLException e) {
+                if (execution.cancelReason() != null) {
+                    throw new SQLException(execution.cancelReason(), e.getSQLState(), e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface GuardedWork<T> {
+        T run(QueryGuard.Execution execution) throws SQLException;
+    }
+
+    private QueryResult executeBounded(String query, List<QueryParameter> parameters, SqlText sqlText, ResultFormat format,
+            QueryGuard.Execution execution) throws SQLException {
+        long cacheGeneration = resultCache.generation();
+        try (var conn = borrowConnection()) {
+            checkBudget(conn, query, parameters, sqlText, execution);
+            boolean streamInTransaction = streamInTransaction(conn, sqlText);
+            if (streamInTransaction) {
+                conn.setAutoCommit(false);
+            }
+            boolean succeeded = false;
+            try (var stmt = createStatement(conn, query, parameters)) {
+                execution.watch(stmt);
+                configureStreaming(conn, stmt);
+                if (querySettings.maxRows() > 0) {
+                    // one extra row tells us whether the result was truncated
+                    stmt.setMaxRows(querySettings.maxRows() + 1);
+                }
+                try (var rs = executeStatement(stmt, query)) {
+                    var reader = new ResultSetReader(rs, format, !Dialect.SQLITE.matches(conn));
+                    RowBatch batch = reader.read(querySettings.maxRows(), querySettings.maxBytes());
+                    QueryResult result = toQueryResult(format, reader, batch, null);
+                    succeeded = true;
+                    return sqlText.isQuery()
+                        ? resultCache.put(sqlText, parameters, format, result, batch.bytes(), cacheGeneration)
+                        : result;
+                }
+            } finally {
+                if (streamInTransaction) {
+                    endStreaming(conn, succeeded);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the query and reads the first page. If rows remain, the connection, statement and
+     * result set stay open in a {@link QueryCursor} that later fetchNextPage calls keep reading.
+     */
+    private QueryResult openCursor(String query, List<QueryParameter> parameters, int pageSize, ResultFormat format,
+            QueryGuard.Execution execution) throws SQLException {
+        var conn = borrowConnection();
+        boolean streamInTransaction = false;
+        QueryCursor cursor;
+        try {
+            SqlText sqlText = SqlText.of(query);
+            checkBudget(conn, query, parameters, sqlText, execution);
+            streamInTransaction = streamInTransaction(conn, sqlText);
+            if (streamInTransaction) {
+                conn.setAutoCommit(false);
+            }
+            var stmt = createStatement(conn, query, parameters);
+            execution.watch(stmt);
+            configureStreaming(conn, stmt);
+            var reader = new ResultSetReader(executeStatement(stmt, query), format, !Dialect.SQLITE.matches(conn));
+            cursor = new QueryCursor(UUID.randomUUID().toString(), conn, stmt, reader, format, streamInTransaction);
+        } catch (SQLException | RuntimeException e) {
+            // closing the connection also closes any statement opened on it
+            try (conn) {
+                if (streamInTransaction) {
+                    endStreaming(conn, false);
+                }
+            } catch (SQLException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+
+        try {
+            RowBatch batch = cursor.read(pageRows(pageSize), querySettings.maxBytes());
+            if (cursor.isClosed()) {
+                return toQueryResult(format, cursor.reader(), batch, null);
+            }
+            if (hasSingleConnection()) {
+                // holding the only connection would make every other tool call wait for the pool to time out
+                cursor.buffer(querySettings.maxRows(), querySettings.maxBytes());
+            }
+            cursorRegistry.register(cursor);
+            return toQueryResult(format, cursor.reader(), batch, cursor.token());
+        } catch (SQLException | RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return true for a pool of one connection, which SQLite is always pinned to
+     */
+    private boolean hasSingleConnection() {
+        return dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() == 1;
+    }
+
+    /**
+     * PostgreSQL only honours the fetch size inside a transaction, otherwise the driver buffers the whole result.
+     * Statements that write keep running with autocommit, so they commit as they always did.
+     */
+    private static boolean streamInTransaction(Connection conn, SqlText sqlText) throws SQLException {
+        return sqlText.isQuery() && Dialect.POSTGRES.matches(conn) && conn.getAutoCommit();
+    }
+
+    /**
+     * Ends the transaction a query was streamed in. It is committed when the query succeeded, so anything
+     * a function it called wrote is kept as it would have been with autocommit.
+     */
+    private static void endStreaming(Connection conn, boolean succeeded) throws SQLException {
+        if (succeeded) {
+            conn.commit();
+        } else {
+            conn.rollback();
+        }
+        conn.setAutoCommit(true);
+    }
+
+    /**
+     * Creates a plain statement, or with parameters a {@link PreparedStatement} with the parameters bound.
+     * With a pooled data source the driver can serve the prepared statement from its per-connection cache.
+     */
+    private static Statement createStatement(Connection conn, String query, List<QueryParameter> parameters)
+            throws SQLException {
+        if (parameters == null) {
+            return conn.createStatement();
+        }
+        PreparedStatement stmt = conn.prepareStatement(query);
+        try {
+            ParameterType.bindAll(stmt, parameters);
+            return stmt;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                stmt.close();
+            } catch (SQLException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    private static ResultSet executeStatement(Statement stmt, String query) throws SQLException {
+        return stmt instanceof PreparedStatement prepared ? prepared.executeQuery() : stmt.executeQuery(query);
+    }
+
+    private int pageRows(Integer pageSize) {
+        int rows = pageSize == null || pageSize <= 0 ? querySettings.fetchSize() : pageSize;
+        return querySettings.maxRows() > 0 ? Math.min(rows, querySettings.maxRows()) : rows;
+    }
+
+    private void configureStreaming(Connection conn, Statement stmt) throws SQLException {
+        if (Dialect.MYSQL.matches(conn)) {
+            // Connector/J only streams row by row when the fetch size is Integer.MIN_VALUE
+            stmt.setFetchSize(Integer.MIN_VALUE);
+        } else if (querySettings.fetchSize() > 0) {
+            stmt.setFetchSize(querySettings.fetchSize());
+        }
+    }
+
+    private static QueryResult toQueryResult(ResultFormat format, ResultSetReader reader, RowBatch batch, String cursor) {
+        var columns = reader.columns();
+        int rowCount = batch.rows().size();
+        return switch (format) {
+            case ROWS -> new QueryResult(format.value(), null, batch.toMaps(columns), null,
+                rowCount, batch.truncated(), batch.truncationReason(), cursor, null);
+            case COMPACT -> new QueryResult(format.value(), columns, null, batch.toRowArrays(),
+                rowCount, batch.truncated(), batch.truncationReason(), cursor, null);
+            case COLUMNAR -> new QueryResult(format.value(), columns, null, batch.toColumnArrays(columns.size()),
+                rowCount, batch.truncated(), batch.truncationReason(), cursor, null);
+        };
     }
 
     @Tool(name = "getTableNames", description = "Get all table names from the database, including type, schema, and remarks")
     public List<TableInfo> getTableNames() {
+        try {
+            return schemaCache.tables(this::loadTableNames);
+        } catch (Exception e) {
+            logger.error("Error getTableNames message: {}", e.getMessage(), e);
+            throw toolError("getTableNames", e);
+        }
+    }
+
+    private List<TableInfo> loadTableNames() throws SQLException {
         List<TableInfo> tables = new ArrayList<>();
-        try (var conn = dataSource.getConnection()) {
+        try (var conn = borrowConnection()) {
             var metaData = conn.getMetaData();
             String[] types = {"TABLE"}; // Only include tables, exclude views and system tables
             try (var rs = metaData.getTables(null, null, "%", types)) {
@@ -81,12 +601,8 @@ public class ExplorerService {
                     tables.add(table);
                 }
             }
-        } catch (Exception e) {
-            logger.error("Error getTableNames message: {}", e.getMessage(), e);
-            ToolDefinition toolDefinition = getToolDefinition("getTableNames");
-            throw new ToolExecutionException(toolDefinition, e);
         }
-        return tables;
+        return List.copyOf(tables);
     }
 
     @Tool(name = "describeTable", description = "Describe a table in the database, including column information, primary keys, foreign keys, and indexes.")
@@ -94,7 +610,230 @@ public class ExplorerService {
         @ToolParam(description = "Catalog Name", required = false) String catalog,
         @ToolParam(description = "Schema Name", required = false) String schema,
         @ToolParam(description = "Name of the table to get description for") String tableName) {
-        try (var conn = dataSource.getConnection()) {
+        try {
+            return schemaCache.tableDetails(catalog, schema, tableName, () -> loadTableDetails(catalog, schema, tableName));
+        } catch (Exception e) {
+            logger.error("Error describeTable for {} message: {}", tableName, e.getMessage(), e);
+            throw toolError("describeTable", e);
+        }
+    }
+
+    @Tool(name = "describeSchema", description = """
+        Describe every table in a schema at once, including column information, primary keys, foreign keys, and indexes. \
+        Use this instead of calling describeTable for each table when exploring a whole schema.""")
+    public List<TableDetails> describeSchema(
+        @ToolParam(description = "Catalog Name", required = false) String catalog,
+        @ToolParam(description = "Schema Name", required = false) String schema) {
+        try {
+            return schemaCache.schemaDetails(catalog, schema, () -> {
+                List<TableDetails> details = loadSchemaDetails(catalog, schema);
+                schemaCache.putTableDetails(catalog, schema, details);
+                return details;
+            });
+        } catch (Exception e) {
+            logger.error("Error describeSchema for {} message: {}", schema, e.getMessage(), e);
+            throw toolError("describeSchema", e);
+        }
+    }
+
+    @Tool(name = "getTableStats", description = """
+        Get the approximate row count, on-disk size and last analyze time of tables from the statistics the database \
+        keeps in its catalog, without scanning them. Use this instead of SELECT COUNT(*) to size tables. \
+        'source' tells where the row count came from, tables never analyzed are counted or sampled instead.""")
+    public List<TableStats> getTableStats(
+        @ToolParam(description = "Catalog Name", required = false) String catalog,
+        @ToolParam(description = "Schema Name", required = false) String schema,
+        @ToolParam(description = "Name of the table, leave empty for every table of the schema", required = false) String tableName) {
+        try {
+            return guarded(execution -> {
+                try (var conn = borrowConnection()) {
+                    return TableStatsReader.read(conn, execution, catalog, schema,
+                        tableName == null || tableName.isBlank() ? null : tableName);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error getTableStats for {} message: {}", tableName, e.getMessage(), e);
+            throw toolError("getTableStats", e);
+        }
+    }
+
+    @Tool(name = "profileTable", resultConverter = QueryResultConverter.class, description = """
+        Profile every column of a table in a single pass: null count and ratio, min and max, an estimate of the number \
+        of distinct values, the most frequent values and, for numeric columns, the mean and quantiles. \
+        Use this instead of separate COUNT(DISTINCT), MIN, MAX and GROUP BY queries, which each read the table again. \
+        Memory use does not grow with the table. On a large table pass sampleRows to profile a random sample \
+        read as sampleTable does, or maxRows to only read the first rows.""")
+    public TableProfile profileTable(
+        @ToolParam(description = "Catalog Name", required = false) String catalog,
+        @ToolParam(description = "Schema Name", required = false) String schema,
+        @ToolParam(description = "Name of the table to profile") String tableName,
+        @ToolParam(description = "Maximum number of rows to read, the whole table when empty", required = false) Integer maxRows,
+        @ToolParam(description = "Number of randomly sampled rows to profile instead of the first rows", required = false) Integer sampleRows) {
+        try {
+            if (maxRows != null && sampleRows != null) {
+                throw new IllegalArgumentException("Pass either maxRows or sampleRows, not both.");
+            }
+            if (sampleRows != null && sampleRows <= 0) {
+                throw new IllegalArgumentException("sampleRows must be greater than 0.");
+            }
+            TableDetails details = schemaCache.tableDetails(catalog, schema, tableName,
+                () -> loadTableDetails(catalog, schema, tableName));
+            return guarded(execution -> profileRows(catalog, schema, details,
+                maxRows == null ? 0 : Math.max(0, maxRows), sampleRows, execution));
+        } catch (Exception e) {
+            logger.error("Error profileTable for {} message: {}", tableName, e.getMessage(), e);
+            throw toolError("profileTable", e);
+        }
+    }
+
+    /**
+     * Streams the rows of the table a page at a time into a {@link TableProfiler}, so only one page is
+     * held in memory however large the table is.
+     *
+     * @param sampleRows the number of rows to sample with {@link TableSampler}, or null to read the table in order
+     */
+    private TableProfile profileRows(String catalog, String schema, TableDetails details, int maxRows,
+            Integer sampleRows, QueryGuard.Execution execution) throws SQLException {
+        try (var conn = borrowConnection()) {
+            Dialect dialect = Dialect.of(conn)
+                .orElseThrow(() -> new SQLFeatureNotSupportedException("Profiling is not supported for this database"));
+            TableSampler.Sample sample = sampleRows == null ? null
+                : TableSampler.plan(conn, execution, dialect, catalog, schema, details.tableName(),
+                    sampleKey(dialect, details), sampleRows, null, ThreadLocalRandom.current().nextLong(1L << 32), 0);
+            boolean streamInTransaction = dialect == Dialect.POSTGRES && conn.getAutoCommit();
+            if (streamInTransaction) {
+                conn.setAutoCommit(false);
+            }
+            try (var stmt = conn.createStatement()) {
+                execution.watch(stmt);
+                configureStreaming(conn, stmt);
+                if (maxRows > 0) {
+                    stmt.setMaxRows(maxRows + 1);
+                }
+                String sql = sample != null
+                    ? sample.sql()
+                    : "SELECT * FROM " + dialect.qualifiedName(catalog, schema, details.tableName());
+                try (var rs = stmt.executeQuery(sql)) {
+                    var reader = new ResultSetReader(rs, ResultFormat.COMPACT, dialect != Dialect.SQLITE);
+                    var profiler = new TableProfiler(reader.columns());
+                    int page = querySettings.fetchSize() > 0 ? querySettings.fetchSize() : PROFILE_PAGE_ROWS;
+                    long remaining = maxRows > 0 ? maxRows : Long.MAX_VALUE;
+                    boolean complete;
+                    while (true) {
+                        RowBatch batch = reader.read((int) Math.min(page, remaining), 0);
+                        profiler.add(batch);
+                        remaining -= batch.rows().size();
+                        if (!batch.truncated() || remaining == 0) {
+                            complete = !batch.truncated();
+                            break;
+                        }
+                    }
+                    if (sample != null) {
+                        // a sample is the whole table only when it was read whole and held fewer rows than asked for
+                        complete = TableSampler.ALL.equals(sample.method()) && profiler.rowCount() < sampleRows;
+                    }
+                    return new TableProfile(details.tableName(), profiler.rowCount(), complete,
+                        profiler.profiles(details.columns()));
+                }
+            } finally {
+                if (streamInTransaction) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    @Tool(name = "sampleTable", resultConverter = QueryResultConverter.class, description = """
+        Read a random sample of the rows of a table, either a number of rows or a percentage of the table. \
+        Uses the sampling the database has instead of ORDER BY RANDOM(), so the cost stays the same as the table grows. \
+        Pass the returned seed again to read the same sample.""")
+    public TableSample sampleTable(
+        @ToolParam(description = "Catalog Name", required = false) String catalog,
+        @ToolParam(description = "Schema Name", required = false) String schema,
+        @ToolParam(description = "Name of the table to sample") String tableName,
+        @ToolParam(description = "Number of rows to sample, defaults to 100", required = false) Integer rows,
+        @ToolParam(description = "Percentage of the table to sample, from 0 to 100, instead of a number of rows", required = false) Double percent,
+        @ToolParam(description = "Seed of a previous sample to read it again", required = false) Long seed,
+        @ToolParam(description = "Result format: 'rows' (default), 'compact' or 'columnar', as in executeQuery", required = false) String format) {
+        try {
+            if (rows != null && percent != null) {
+                throw new IllegalArgumentException("Pass either rows or percent, not both.");
+            }
+            if (rows != null && rows <= 0) {
+                throw new IllegalArgumentException("rows must be greater than 0.");
+            }
+            if (percent != null && (percent <= 0 || percent > 100)) {
+                throw new IllegalArgumentException("percent must be greater than 0 and at most 100.");
+            }
+            Integer sampleRows = percent == null ? (rows == null ? DEFAULT_SAMPLE_ROWS : rows) : null;
+            long sampleSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong(1L << 32);
+            TableDetails details = schemaCache.tableDetails(catalog, schema, tableName,
+                () -> loadTableDetails(catalog, schema, tableName));
+            ResultFormat resultFormat = ResultFormat.from(format);
+            return guarded(execution -> sampleRows(catalog, schema, details, sampleRows, percent, sampleSeed,
+                resultFormat, execution));
+        } catch (Exception e) {
+            logger.error("Error sampleTable for {} message: {}", tableName, e.getMessage(), e);
+            throw toolError("sampleTable", e);
+        }
+    }
+
+    private TableSample sampleRows(String catalog, String schema, TableDetails details, Integer rows, Double percent,
+            long seed, ResultFormat format, QueryGuard.Execution execution) throws SQLException {
+        try (var conn = borrowConnection()) {
+            Dialect dialect = Dialect.of(conn)
+                .orElseThrow(() -> new SQLFeatureNotSupportedException("Sampling is not supported for this database"));
+            TableSampler.Sample sample = TableSampler.plan(conn, execution, dialect, catalog, schema, details.tableName(),
+                sampleKey(dialect, details), rows, percent, seed, querySettings.maxRows());
+            try (var stmt = conn.createStatement()) {
+                execution.watch(stmt);
+                if (querySettings.maxRows() > 0) {
+                    stmt.setMaxRows(querySettings.maxRows() + 1);
+                }
+                try (var rs = stmt.executeQuery(sample.sql())) {
+                    var reader = new ResultSetReader(rs, format, dialect != Dialect.SQLITE);
+                    RowBatch batch = reader.read(querySettings.maxRows(), querySettings.maxBytes());
+                    return new TableSample(details.tableName(), sample.method(), sample.percent(), seed,
+                        toQueryResult(format, reader, batch, null));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the key random values are drawn from where the database cannot sample: a single integer primary key,
+     *         or else the row id SQLite and H2 give every table
+     */
+    private static String sampleKey(Dialect dialect, TableDetails details) {
+        if (details.primaryKeyColumns().size() == 1) {
+            String key = details.primaryKeyColumns().get(0);
+            boolean integer = details.columns().stream()
+                .anyMatch(column -> column.name().equals(key) && TableSampler.isIntegerType(column.type()));
+            if (integer) {
+                return dialect.quote(key);
+            }
+        }
+        return switch (dialect) {
+            case SQLITE -> "rowid";
+            case H2 -> "_ROWID_";
+            default -> null;
+        };
+    }
+
+    @Tool(name = "invalidateSchemaCache", description = """
+        Clear the cached results of describeTable and getTableNames after the schema has changed. \
+        Pass a table name to only clear that table, otherwise everything is cleared.""")
+    public SchemaCacheStatus invalidateSchemaCache(
+        @ToolParam(description = "Catalog Name", required = false) String catalog,
+        @ToolParam(description = "Schema Name", required = false) String schema,
+        @ToolParam(description = "Name of the table to clear, leave empty to clear everything", required = false) String tableName) {
+        int invalidated = schemaCache.invalidate(catalog, schema, tableName == null || tableName.isBlank() ? null : tableName);
+        return schemaCache.status(invalidated);
+    }
+
+    private TableDetails loadTableDetails(String catalog, String schema, String tableName) throws SQLException {
+        try (var conn = borrowConnection()) {
             var metaData = conn.getMetaData();
             // Check if the table exists
             try (ResultSet tables = metaData.getTables(catalog, schema, tableName, new String[] {"TABLE"})) {
@@ -116,10 +855,6 @@ public class ExplorerService {
                 foreignKeyDetails,
                 indexDetails
             );
-        } catch (Exception e) {
-            logger.error("Error describeTable for {} message: {}", tableName, e.getMessage(), e);
-            ToolDefinition toolDefinition = getToolDefinition("describeTable");
-            throw new ToolExecutionException(toolDefinition, e);
         }
     }
 
@@ -127,12 +862,7 @@ public class ExplorerService {
         List<ColumnDetail> columns = new ArrayList<>();
         try (var rs = metaData.getColumns(catalog, schema, tableName, null)) {
             while (rs.next()) {
-                columns.add(new ColumnDetail(
-                    rs.getString("COLUMN_NAME"),
-                    rs.getString("TYPE_NAME"),
-                    rs.getInt("COLUMN_SIZE"),
-                    rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable
-                ));
+                columns.add(toColumnDetail(rs));
             }
         }
         return columns;
@@ -152,11 +882,7 @@ public class ExplorerService {
         List<ForeignKeyDetail> foreignKeys = new ArrayList<>();
         try (var fk = metaData.getImportedKeys(catalog, schema, tableName)) {
             while (fk.next()) {
-                foreignKeys.add(new ForeignKeyDetail(
-                    fk.getString("FKCOLUMN_NAME"),
-                    fk.getString("PKTABLE_NAME"),
-                    fk.getString("PKCOLUMN_NAME")
-                ));
+                foreignKeys.add(toForeignKeyDetail(fk));
             }
         }
         return foreignKeys;
@@ -167,42 +893,183 @@ public class ExplorerService {
         // Setting approximate to true can be faster if exact results are not critical for row counts in indexes
         try (var idx = metaData.getIndexInfo(catalog, schema, tableName, false, true)) {
             while (idx.next()) {
-                String indexName = idx.getString("INDEX_NAME");
-                String columnName = idx.getString("COLUMN_NAME");
-                // TYPE column can be used to filter out table statistics (value 0 or tableIndexStatistic)
-                short type = idx.getShort("TYPE");
-                if (type == DatabaseMetaData.tableIndexStatistic) {
-                    continue; // Skip table statistics row
-                }
-                if (indexName != null && columnName != null) {
-                    indexes.add(new IndexDetail(
-                        indexName,
-                        columnName,
-                        !idx.getBoolean("NON_UNIQUE")
-                    ));
+                IndexDetail index = toIndexDetail(idx);
+                if (index != null) {
+                    indexes.add(index);
                 }
             }
         }
         return indexes;
     }
 
+    private static ColumnDetail toColumnDetail(ResultSet rs) throws SQLException {
+        return new ColumnDetail(
+            rs.getString("COLUMN_NAME"),
+            rs.getString("TYPE_NAME"),
+            rs.getInt("COLUMN_SIZE"),
+            rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable
+        );
+    }
+
+    private static ForeignKeyDetail toForeignKeyDetail(ResultSet fk) throws SQLException {
+        return new ForeignKeyDetail(
+            fk.getString("FKCOLUMN_NAME"),
+            fk.getString("PKTABLE_NAME"),
+            fk.getString("PKCOLUMN_NAME")
+        );
+    }
+
+    /**
+     * @return the index column on the current row, or null for table statistics and expression index rows
+     */
+    private static IndexDetail toIndexDetail(ResultSet idx) throws SQLException {
+        String indexName = idx.getString("INDEX_NAME");
+        String columnName = idx.getString("COLUMN_NAME");
+        // TYPE column can be used to filter out table statistics (value 0 or tableIndexStatistic)
+        short type = idx.getShort("TYPE");
+        if (type == DatabaseMetaData.tableIndexStatistic) {
+            return null; // Skip table statistics row
+        }
+        if (indexName == null || columnName == null) {
+            return null;
+        }
+        return new IndexDetail(
+            indexName,
+            columnName,
+            !idx.getBoolean("NON_UNIQUE")
+        );
+    }
+
+    /**
+     * A table found by {@code describeSchema}, identified by the catalog and schema the driver reported for it.
+     */
+    private record SchemaTable(String catalog, String schema, String name) {}
+
+    @FunctionalInterface
+    private interface MetaDataQuery {
+        ResultSet query() throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface TableFetch<T> {
+        List<T> fetch(SchemaTable table) throws SQLException;
+    }
+
+    /**
+     * Describes every table of a schema with one metadata call per kind of detail instead of one per table.
+     * Columns are always fetched in bulk. Primary keys, foreign keys and indexes are fetched in bulk when the
+     * driver accepts a null table name and otherwise fall back to one call per table. Oracle compares the
+     * table name with '=' and quietly matches nothing for a null name, so it always makes one call per table.
+     */
+    private List<TableDetails> loadSchemaDetails(String catalog, String schema) throws SQLException {
+        try (var conn = borrowConnection()) {
+            var metaData = conn.getMetaData();
+            Set<SchemaTable> tables = new LinkedHashSet<>();
+            try (var rs = metaData.getTables(catalog, schema, "%", new String[] {"TABLE"})) {
+                while (rs.next()) {
+                    tables.add(tableOf(rs, ""));
+                }
+            }
+
+            boolean bulk = !Dialect.ORACLE.matches(conn);
+            Map<SchemaTable, List<ColumnDetail>> columns = groupByTable(tables,
+                () -> metaData.getColumns(catalog, schema, "%", null), "", ExplorerService::toColumnDetail);
+            Map<SchemaTable, List<String>> primaryKeys = fetchForAllTables(tables, bulk,
+                () -> metaData.getPrimaryKeys(catalog, schema, null), "", pk -> pk.getString("COLUMN_NAME"),
+                table -> fetchPrimaryKeyColumns(metaData, table.catalog(), table.schema(), table.name()));
+            Map<SchemaTable, List<ForeignKeyDetail>> foreignKeys = fetchForAllTables(tables, bulk,
+                () -> metaData.getImportedKeys(catalog, schema, null), "FK", ExplorerService::toForeignKeyDetail,
+                table -> fetchForeignKeyDetails(metaData, table.catalog(), table.schema(), table.name()));
+            Map<SchemaTable, List<IndexDetail>> indexes = fetchForAllTables(tables, bulk,
+                () -> metaData.getIndexInfo(catalog, schema, null, false, true), "", ExplorerService::toIndexDetail,
+                table -> fetchIndexDetails(metaData, table.catalog(), table.schema(), table.name()));
+
+            List<TableDetails> details = new ArrayList<>(tables.size());
+            for (SchemaTable table : tables) {
+                details.add(new TableDetails(
+                    table.name(),
+                    columns.getOrDefault(table, List.of()),
+                    primaryKeys.getOrDefault(table, List.of()),
+                    foreignKeys.getOrDefault(table, List.of()),
+                    indexes.getOrDefault(table, List.of())
+                ));
+            }
+            return List.copyOf(details);
+        }
+    }
+
+    /**
+     * Runs the bulk query and groups its rows by table. If the driver rejects the bulk query, the details are
+     * fetched one table at a time instead. An empty result is kept, a schema without keys or indexes is common.
+     *
+     * @param bulk false when the driver is known to answer the bulk query wrongly rather than reject it
+     */
+    private <T> Map<SchemaTable, List<T>> fetchForAllTables(Set<SchemaTable> tables, boolean bulk,
+            MetaDataQuery bulkQuery, String columnPrefix, RowMapper<T> mapper, TableFetch<T> perTable)
+            throws SQLException {
+        if (bulk) {
+            try {
+                return groupByTable(tables, bulkQuery, columnPrefix, mapper);
+            } catch (SQLException | RuntimeException e) {
+                // many drivers require a table name for these calls
+                logger.debug("Bulk metadata query not supported, falling back to one call per table: {}", e.getMessage());
+            }
+        }
+        Map<SchemaTable, List<T>> grouped = new HashMap<>();
+        for (SchemaTable table : tables) {
+            grouped.put(table, perTable.fetch(table));
+        }
+        return grouped;
+    }
+
+    private <T> Map<SchemaTable, List<T>> groupByTable(Set<SchemaTable> tables, MetaDataQuery query,
+            String columnPrefix, RowMapper<T> mapper) throws SQLException {
+        Map<SchemaTable, List<T>> grouped = new HashMap<>();
+        try (var rs = query.query()) {
+            while (rs.next()) {
+                SchemaTable table = tableOf(rs, columnPrefix);
+                T value = mapper.map(rs);
+                if (value != null && tables.contains(table)) {
+                    grouped.computeIfAbsent(table, t -> new ArrayList<>()).add(value);
+                }
+            }
+        }
+        return grouped;
+    }
+
+    /**
+     * @param columnPrefix "FK" for the foreign key side of getImportedKeys, otherwise empty
+     */
+    private static SchemaTable tableOf(ResultSet rs, String columnPrefix) throws SQLException {
+        return new SchemaTable(
+            rs.getString(columnPrefix + "TABLE_CAT"),
+            rs.getString(columnPrefix + "TABLE_SCHEM"),
+            rs.getString(columnPrefix + "TABLE_NAME")
+        );
+    }
+
     /**
-     * Get a ToolDefinition for a given tool name using the ToolCallbacks
-     * method from Spring AI to find the methods annotated with @Tool in this class.
+     * Get the ToolDefinition for a given tool name from the resolved definitions.
      * This is used to provide a description of the tool in case of an error.
      * @param toolName
-     * @return
+     * @return the definition, or one built by {@link #getUnknownToolDefinition} if there is no such tool
      */
     private ToolDefinition getToolDefinition(String toolName) {
-        List<ToolCallback> toolCallBacks = List.of(ToolCallbacks.from(this));
-        Optional<ToolDefinition> toolDefinitionOptional = toolCallBacks.stream()
-            .map(ToolCallback::getToolDefinition)
-            .filter(definition -> definition.name().equals(toolName))
-            .findFirst();
-        return toolDefinitionOptional.orElse(getUnknownToolDefinition(toolName));
+        ToolDefinition definition = tools().definitions().get(toolName);
+        return definition != null ? definition : getUnknownToolDefinition(toolName);
     }
 
-    private ToolDefinition getUnknownToolDefinition(String toolName) {
+    /**
+     * Builds a placeholder ToolDefinition that still reports the requested tool name.
+     * @param toolName
+     * @return a definition with an empty input schema
+     */
+    private static ToolDefinition getUnknownToolDefinition(String toolName) {
         return ToolDefinition.builder()
             .name(toolName)
             .description("Tool not found")
@@ -217,4 +1084,75 @@ public class ExplorerService {
             """)
             .build();
     }
+
+    /**
+     * Counts the failure in the tool metrics and wraps it for Spring AI.
+     */
+    private ToolExecutionException toolError(String toolName, Exception e) {
+        toolMetrics.recordError(toolName, e);
+        return new ToolExecutionException(getToolDefinition(toolName), e);
+    }
+
+    /**
+     * Creates the service outside Spring, with the default of every setting not set on the builder.
+     */
+    public static Builder builder(DataSource dataSource) {
+        return new Builder(dataSource);
+    }
+
+    public static final class Builder {
+
+        private final DataSource dataSource;
+        private QuerySettings querySettings;
+        private QueryCursorRegistry cursorRegistry;
+        private SchemaCache schemaCache;
+        private QueryGuard queryGuard;
+        private ToolMetrics toolMetrics;
+        private ResultCache resultCache;
+        private QueryBudget queryBudget;
+
+        private Builder(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public Builder querySettings(QuerySettings querySettings) {
+            this.querySettings = querySettings;
+            return this;
+        }
+
+        public Builder cursorRegistry(QueryCursorRegistry cursorRegistry) {
+            this.cursorRegistry = cursorRegistry;
+            return this;
+        }
+
+        public Builder schemaCache(SchemaCache schemaCache) {
+            this.schemaCache = schemaCache;
+            return this;
+        }
+
+        public Builder queryGuard(QueryGuard queryGuard) {
+            this.queryGuard = queryGuard;
+            return this;
+        }
+
+        public Builder toolMetrics(ToolMetrics toolMetrics) {
+            this.toolMetrics = toolMetrics;
+            return this;
+        }
+
+        public Builder resultCache(ResultCache resultCache) {
+            this.resultCache = resultCache;
+            return this;
+        }
+
+        public Builder queryBudget(QueryBudget queryBudget) {
+            this.queryBudget = queryBudget;
+            return this;
+        }
+
+        public ExplorerService build() {
+            return new ExplorerService(dataSource, querySettings, cursorRegistry, schemaCache, queryGuard, toolMetrics,
+                resultCache, queryBudget);
+        }
+    }
 }
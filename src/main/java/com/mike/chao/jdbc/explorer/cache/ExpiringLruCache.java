@@ -0,0 +1,108 @@
+package com.mike.chao.jdbc.explorer.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A small thread safe cache whose entries expire a fixed time after they were written
+ * and which drops the least recently used entry once it holds more than {@code maxEntries}.
+ * A ttl of 0 disables caching, every lookup is then a miss.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExpiringLruCache(long ttlMillis, int maxEntries) {
+        this(ttlMillis, maxEntries, System::currentTimeMillis);
+    }
+
+    ExpiringLruCache(long ttlMillis, int maxEntries, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public Optional<V> get(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > clock.getAsLong()) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the cached value or loads and caches it. Failed loads are not cached.
+     */
+    public V get(K key, Callable<V> loader) throws Exception {
+        Optional<V> cached = get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        V value = loader.call();
+        put(key, value);
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (ttlMillis <= 0 || maxEntries <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+            Iterator<K> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of entries removed
+     */
+    public int invalidateIf(Predicate<K> predicate) {
+        synchronized (entries) {
+            int before = entries.size();
+            entries.keySet().removeIf(predicate);
+            return before - entries.size();
+        }
+    }
+
+    public int invalidateAll() {
+        return invalidateIf(key -> true);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            long now = clock.getAsLong();
+            return (int) entries.values().stream().filter(entry -> entry.expiresAt() > now).count();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+}
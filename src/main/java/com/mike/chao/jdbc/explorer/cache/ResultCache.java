@@ -0,0 +1,185 @@
+package com.mike.chao.jdbc.explorer.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.mike.chao.jdbc.explorer.data.QueryParameter;
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+import com.mike.chao.jdbc.explorer.query.ResultFormat;
+import com.mike.chao.jdbc.explorer.query.SqlText;
+
+/**
+ * Caches the results of {@code executeQuery} so an agent re-running the same query skips the database.
+ * Entries are keyed by the normalized SQL text, the bound parameters and the result format, expire a fixed time after they
+ * were written and the least recently used ones are dropped once the cached results exceed {@code maxBytes}.
+ * A ttl or size of 0 disables the cache.
+ */
+public class ResultCache {
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+
+    record Key(String sql, List<QueryParameter> parameters, ResultFormat format) {}
+
+    private record Entry(QueryResult result, long bytes, long expiresAt) {}
+
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final LongSupplier clock;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param ttlMillis how long a result is kept, 0 disables the cache
+     * @param maxBytes approximate serialized size of all cached results, 0 disables the cache
+     */
+    public ResultCache(long ttlMillis, long maxBytes) {
+        this(ttlMillis, maxBytes, System::currentTimeMillis);
+    }
+
+    ResultCache(long ttlMillis, long maxBytes, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    public static ResultCache disabled() {
+        return new ResultCache(0, 0);
+    }
+
+    public boolean enabled() {
+        return ttlMillis > 0 && maxBytes > 0;
+    }
+
+    /**
+     * @return the cached result marked as a {@link #HIT}
+     */
+    public Optional<QueryResult> get(SqlText sql, ResultFormat format) {
+        return get(sql, null, format);
+    }
+
+    /**
+     * @param parameters the values bound to the placeholders of {@code sql}, null for a plain statement
+     * @return the cached result marked as a {@link #HIT}
+     */
+    public Optional<QueryResult> get(SqlText sql, List<QueryParameter> parameters, ResultFormat format) {
+        if (!enabled()) {
+            return Optional.empty();
+        }
+        Key key = new Key(sql.normalized(), parameters, format);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > clock.getAsLong()) {
+                hits.increment();
+                return Optional.of(withCache(entry.result(), HIT));
+            }
+            if (entry != null) {
+                remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * @return a counter that changes on every invalidation, read it before running the query that is later cached
+     */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches a result unless it alone is larger than the cache or the cache was invalidated
+     * since {@code readGeneration}, in which case the result may already be stale.
+     *
+     * @param resultBytes approximate serialized size of the result
+     * @param readGeneration the {@link #generation()} before the query ran
+     * @return the result marked as a {@link #MISS}, or unchanged when the cache is disabled
+     */
+    public QueryResult put(SqlText sql, ResultFormat format, QueryResult result, long resultBytes, long readGeneration) {
+        return put(sql, null, format, result, resultBytes, readGeneration);
+    }
+
+    /**
+     * Same as {@link #put(SqlText, ResultFormat, QueryResult, long, long)} for a query run with parameters.
+     */
+    public QueryResult put(SqlText sql, List<QueryParameter> parameters, ResultFormat format, QueryResult result,
+            long resultBytes, long readGeneration) {
+        if (!enabled()) {
+            return result;
+        }
+        if (resultBytes <= maxBytes) {
+            Key key = new Key(sql.normalized(), parameters == null ? null : List.copyOf(parameters), format);
+            synchronized (entries) {
+                if (readGeneration != generation) {
+                    return withCache(result, MISS);
+                }
+                remove(key);
+                entries.put(key, new Entry(result, resultBytes, clock.getAsLong() + ttlMillis));
+                bytes += resultBytes;
+                Iterator<Entry> eldest = entries.values().iterator();
+                while (bytes > maxBytes && eldest.hasNext()) {
+                    bytes -= eldest.next().bytes();
+                    eldest.remove();
+                }
+            }
+        }
+        return withCache(result, MISS);
+    }
+
+    /**
+     * Drops every cached result, called whenever a statement that may change data runs.
+     *
+     * @return the number of entries removed
+     */
+    public int invalidateAll() {
+        synchronized (entries) {
+            int removed = entries.size();
+            entries.clear();
+            bytes = 0;
+            generation++;
+            return removed;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.bytes();
+        }
+    }
+
+    private static QueryResult withCache(QueryResult result, String cache) {
+        return new QueryResult(result.format(), result.columns(), result.rows(), result.data(), result.rowCount(),
+            result.truncated(), result.truncationReason(), result.cursor(), cache);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mike.chao.jdbc.explorer.cache;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+import com.mike.chao.jdbc.explorer.data.SchemaCacheStatus;
+import com.mike.chao.jdbc.explorer.data.TableDetails;
+import com.mike.chao.jdbc.explorer.data.TableInfo;
+
+/**
+ * Caches the results of {@code describeTable} and {@code getTableNames} so repeated calls
+ * skip the {@link java.sql.DatabaseMetaData} round trips.
+ */
+public class SchemaCache {
+
+    record TableKey(String catalog, String schema, String tableName) {}
+
+    private static final String ALL_TABLES = "*";
+
+    private final ExpiringLruCache<TableKey, TableDetails> tableDetails;
+    private final ExpiringLruCache<String, List<TableInfo>> tableLists;
+    private final ExpiringLruCache<TableKey, List<TableDetails>> schemaDetails;
+
+    /**
+     * @param ttlMillis how long entries are kept, 0 disables the cache
+     * @param maxEntries maximum number of described tables kept
+     */
+    public SchemaCache(long ttlMillis, int maxEntries) {
+        this.tableDetails = new ExpiringLruCache<>(ttlMillis, maxEntries);
+        this.tableLists = new ExpiringLruCache<>(ttlMillis, 1);
+        this.schemaDetails = new ExpiringLruCache<>(ttlMillis, 16);
+    }
+
+    public static SchemaCache defaults() {
+        return new SchemaCache(600_000, 1000);
+    }
+
+    public TableDetails tableDetails(String catalog, String schema, String tableName, Callable<TableDetails> loader) throws Exception {
+        return tableDetails.get(new TableKey(catalog, schema, tableName), loader);
+    }
+
+    /**
+     * Caches the result of describing a whole schema, keyed by the catalog and schema it was requested for.
+     */
+    public List<TableDetails> schemaDetails(String catalog, String schema, Callable<List<TableDetails>> loader) throws Exception {
+        return schemaDetails.get(new TableKey(catalog, schema, ALL_TABLES), loader);
+    }
+
+    /**
+     * Seeds the per table cache so later describeTable calls for the same catalog and schema are hits.
+     */
+    public void putTableDetails(String catalog, String schema, List<TableDetails> details) {
+        details.forEach(table -> tableDetails.put(new TableKey(catalog, schema, table.tableName()), table));
+    }
+
+    public List<TableInfo> tables(Callable<List<TableInfo>> loader) throws Exception {
+        return tableLists.get(ALL_TABLES, loader);
+    }
+
+    /**
+     * Drops the cached description of the matching tables, or everything when {@code tableName} is null.
+     * A null catalog or schema matches any catalog or schema. The table list and the described schemas
+     * are always dropped.
+     *
+     * @return the number of entries removed
+     */
+    public int invalidate(String catalog, String schema, String tableName) {
+        int removed = tableLists.invalidateAll() + schemaDetails.invalidateAll();
+        if (tableName == null) {
+            return removed + tableDetails.invalidateAll();
+        }
+        return removed + tableDetails.invalidateIf(key -> key.tableName().equals(tableName)
+            && (catalog == null || Objects.equals(catalog, key.catalog()))
+            && (schema == null || Objects.equals(schema, key.schema())));
+    }
+
+    public SchemaCacheStatus status(int invalidatedEntries) {
+        return new SchemaCacheStatus(
+            invalidatedEntries,
+            tableDetails.hits() + tableLists.hits() + schemaDetails.hits(),
+            tableDetails.misses() + tableLists.misses() + schemaDetails.misses(),
+            tableDetails.size() + tableLists.size() + schemaDetails.size()
+        );
+    }
+}
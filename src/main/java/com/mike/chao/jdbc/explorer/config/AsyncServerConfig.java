@@ -0,0 +1,71 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Registers the tools, resources and prompts with the async MCP server when
+ * {@code spring.ai.mcp.server.type=ASYNC}. The specifications are the same ones the sync server uses,
+ * each call runs on its own virtual thread so a slow query does not hold up other requests.
+ * The SDK does not cancel calls a client abandons, so a running statement is stopped by the query timeout.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "ASYNC")
+public class AsyncServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler toolScheduler() {
+        return Schedulers.fromExecutorService(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mcp-tool-", 0).factory()), "mcp-tools");
+    }
+
+    @Bean
+    public List<McpServerFeatures.AsyncToolSpecification> asyncToolSpecifications(
+            ObjectProvider<List<McpServerFeatures.SyncToolSpecification>> tools, Scheduler toolScheduler) {
+        return tools.stream().flatMap(List::stream).map(spec -> toAsync(spec, toolScheduler)).toList();
+    }
+
+    @Bean
+    public List<McpServerFeatures.AsyncResourceSpecification> asyncResourceSpecifications(
+            ObjectProvider<List<McpServerFeatures.SyncResourceSpecification>> resources, Scheduler toolScheduler) {
+        return resources.stream().flatMap(List::stream).map(spec -> toAsync(spec, toolScheduler)).toList();
+    }
+
+    @Bean
+    public List<McpServerFeatures.AsyncPromptSpecification> asyncPromptSpecifications(
+            ObjectProvider<List<McpServerFeatures.SyncPromptSpecification>> prompts, Scheduler toolScheduler) {
+        return prompts.stream().flatMap(List::stream).map(spec -> toAsync(spec, toolScheduler)).toList();
+    }
+
+    static McpServerFeatures.AsyncToolSpecification toAsync(McpServerFeatures.SyncToolSpecification spec,
+            Scheduler scheduler) {
+        return new McpServerFeatures.AsyncToolSpecification(spec.tool(), (exchange, args) ->
+            Mono.fromCallable(() -> spec.call().apply(new McpSyncServerExchange(exchange), args))
+                .subscribeOn(scheduler));
+    }
+
+    static McpServerFeatures.AsyncResourceSpecification toAsync(McpServerFeatures.SyncResourceSpecification spec,
+            Scheduler scheduler) {
+        return new McpServerFeatures.AsyncResourceSpecification(spec.resource(), (exchange, request) ->
+            Mono.fromCallable(() -> spec.readHandler().apply(new McpSyncServerExchange(exchange), request))
+                .subscribeOn(scheduler));
+    }
+
+    static McpServerFeatures.AsyncPromptSpecification toAsync(McpServerFeatures.SyncPromptSpecification spec,
+            Scheduler scheduler) {
+        return new McpServerFeatures.AsyncPromptSpecification(spec.prompt(), (exchange, request) ->
+            Mono.fromCallable(() -> spec.promptHandler().apply(new McpSyncServerExchange(exchange), request))
+                .subscribeOn(scheduler));
+    }
+}
@@ -0,0 +1,34 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mike.chao.jdbc.explorer.cache.ResultCache;
+import com.mike.chao.jdbc.explorer.cache.SchemaCache;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${db.schema-cache.ttl:600000}")
+    private long schemaCacheTtl;
+
+    @Value("${db.schema-cache.max-entries:1000}")
+    private int schemaCacheMaxEntries;
+
+    @Value("${db.result-cache.ttl:60000}")
+    private long resultCacheTtl;
+
+    @Value("${db.result-cache.max-bytes:0}")
+    private long resultCacheMaxBytes;
+
+    @Bean
+    public SchemaCache schemaCache() {
+        return new SchemaCache(schemaCacheTtl, schemaCacheMaxEntries);
+    }
+
+    @Bean
+    public ResultCache resultCache() {
+        return new ResultCache(resultCacheTtl, resultCacheMaxBytes);
+    }
+}
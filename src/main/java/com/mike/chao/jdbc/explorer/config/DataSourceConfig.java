@@ -1,9 +1,14 @@
 package com.mike.chao.jdbc.explorer.config;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Properties;
 
 import javax.sql.DataSource;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -11,10 +16,75 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mike.chao.jdbc.explorer.query.ExecutionMode;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 
 @Configuration
 public class DataSourceConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    /**
+     * Pool defaults for the driver of each {@link Dialect}, used when the
+     * corresponding {@code db.pool.*} property is not set.
+     * SQLite only allows a single writer, so its pool is pinned to one connection.
+     */
+    private static final Map<String, PoolDefaults> poolDefaultsByDriverClass = Map.of(
+        "org.sqlite.JDBC", new PoolDefaults(1, 1, "SELECT 1"),
+        "org.postgresql.Driver", new PoolDefaults(10, 2, "SELECT 1"),
+        "org.h2.Driver", new PoolDefaults(10, 1, "SELECT 1"),
+        "com.mysql.cj.jdbc.Driver", new PoolDefaults(10, 2, "SELECT 1"),
+        "oracle.jdbc.OracleDriver", new PoolDefaults(10, 2, "SELECT 1 FROM DUAL")
+    );
+
+    record PoolDefaults(int maxSize, int minIdle, String validationQuery) {}
+
+    /**
+     * Driver properties that keep up to {@code size} prepared statements cached on each pooled connection,
+     * so repeated query shapes skip parsing and planning. H2 caches parsed statements per session on its own
+     * and the SQLite driver has no statement cache.
+     */
+    static Map<String, String> statementCacheProperties(String driverClassName, int size) {
+        int cacheSize = Math.max(0, size);
+        return switch (driverClassName) {
+            // pgjdbc switches to a named server-side statement after prepareThreshold executions
+            case "org.postgresql.Driver" -> Map.of("preparedStatementCacheQueries", String.valueOf(cacheSize));
+            case "com.mysql.cj.jdbc.Driver" -> cacheSize == 0 ? Map.of() : Map.of(
+                "useServerPrepStmts", "true",
+                "cachePrepStmts", "true",
+                "prepStmtCacheSize", String.valueOf(cacheSize),
+                "prepStmtCacheSqlLimit", "2048");
+            case "oracle.jdbc.OracleDriver" -> Map.of("oracle.jdbc.implicitStatementCacheSize", String.valueOf(cacheSize));
+            default -> Map.of();
+        };
+    }
+
+    /**
+     * Driver properties that make connections read-only from the moment they are opened. The SQLite driver
+     * refuses {@code setReadOnly} on an open connection, so there the database has to be opened read-only,
+     * other drivers are switched by {@link ExecutionMode#prepare}. pgjdbc ignores {@code setReadOnly} while
+     * autocommit is on unless its read-only mode is {@code always}.
+     */
+    static Map<String, String> readOnlyProperties(Dialect dialect, ExecutionMode mode) {
+        if (mode != ExecutionMode.READONLY_ANALYTICS) {
+            return Map.of();
+        }
+        return switch (dialect) {
+            // SQLITE_OPEN_READONLY
+            case SQLITE -> Map.of("open_mode", "1");
+            case POSTGRES -> Map.of("readOnlyMode", "always");
+            default -> Map.of();
+        };
+    }
+
+    /**
+     * @return the driver class of every supported database
+     */
+    static Collection<String> driverClassNames() {
+        return Arrays.stream(Dialect.values()).map(Dialect::driverClassName).toList();
+    }
+
     @Value("${db.url}")
     private String dbUrl;
 
@@ -24,6 +94,36 @@ public class DataSourceConfig {
     @Value("${db.password:}")
     private String dbPassword;
 
+    @Value("${db.mode:default}")
+    private String mode;
+
+    @Value("${db.pool.enabled:false}")
+    private boolean poolEnabled;
+
+    @Value("${db.pool.max-size:0}")
+    private int poolMaxSize;
+
+    @Value("${db.pool.min-idle:-1}")
+    private int poolMinIdle;
+
+    @Value("${db.pool.idle-timeout:600000}")
+    private long poolIdleTimeout;
+
+    @Value("${db.pool.max-lifetime:1800000}")
+    private long poolMaxLifetime;
+
+    @Value("${db.pool.connection-timeout:30000}")
+    private long poolConnectionTimeout;
+
+    @Value("${db.pool.validation-query:}")
+    private String poolValidationQuery;
+
+    @Value("${db.pool.lazy-start:false}")
+    private boolean poolLazyStart;
+
+    @Value("${db.pool.statement-cache-size:250}")
+    private int poolStatementCacheSize;
+
     @Bean
     public ObjectMapper objectMapper() {
         return new ObjectMapper();
@@ -32,35 +132,68 @@ public class DataSourceConfig {
     @Bean
     @ConditionalOnMissingBean
     public DataSource dataSource() {
+        Dialect dialect = Dialect.fromUrl(dbUrl)
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported DB URL: " + dbUrl));
+        String driverClassName = dialect.driverClassName();
+        boolean useCredentials = dialect != Dialect.SQLITE;
+
+        if (poolEnabled) {
+            return pooledDataSource(dialect, driverClassName, useCredentials);
+        }
+
         DriverManagerDataSource ds = new DriverManagerDataSource();
         ds.setUrl(dbUrl);
+        ds.setDriverClassName(driverClassName);
+        if (useCredentials) {
+            ds.setUsername(dbUsername);
+            ds.setPassword(dbPassword);
+        }
+        Properties properties = new Properties();
+        properties.putAll(readOnlyProperties(dialect, ExecutionMode.from(mode)));
+        ds.setConnectionProperties(properties);
+        return ds;
+    }
 
-        Map<String, String> driverClassByPrefix = Map.of(
-            "jdbc:sqlite:", "org.sqlite.JDBC",
-            "jdbc:postgresql:", "org.postgresql.Driver",
-            "jdbc:h2:", "org.h2.Driver",
-            "jdbc:mysql:", "com.mysql.cj.jdbc.Driver",
-            "jdbc:oracle:", "oracle.jdbc.OracleDriver"
-        );
-
-        String driverClassName = null;
-        for (String prefix : driverClassByPrefix.keySet()) {
-            if (dbUrl.startsWith(prefix)) {
-                driverClassName = driverClassByPrefix.get(prefix);
-                ds.setDriverClassName(driverClassName);
-                if (!"jdbc:sqlite:".equals(prefix)) {
-                    ds.setUsername(dbUsername);
-                    ds.setPassword(dbPassword);
-                }
-                break;
-            }
+    /**
+     * Builds a bounded HikariCP pool so tool calls reuse physical connections instead of
+     * paying the connect and authentication cost on every call.
+     * Unset {@code db.pool.*} properties fall back to the per-driver {@link PoolDefaults}.
+     */
+    private HikariDataSource pooledDataSource(Dialect dialect, String driverClassName, boolean useCredentials) {
+        PoolDefaults defaults = poolDefaultsByDriverClass.get(driverClassName);
+        int maxSize = poolMaxSize > 0 ? poolMaxSize : defaults.maxSize();
+        int minIdle = poolMinIdle >= 0 ? poolMinIdle : defaults.minIdle();
+        if (dialect == Dialect.SQLITE && maxSize > 1) {
+            logger.warn("SQLite supports a single writer, ignoring db.pool.max-size={} and using 1", maxSize);
+            maxSize = 1;
         }
 
-        if (driverClassName == null) {
-            throw new IllegalArgumentException("Unsupported DB URL: " + dbUrl);
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("jdbc-explorer-pool");
+        config.setJdbcUrl(dbUrl);
+        config.setDriverClassName(driverClassName);
+        if (useCredentials) {
+            config.setUsername(dbUsername);
+            config.setPassword(dbPassword);
         }
-        
-        return ds;
+        config.setMaximumPoolSize(maxSize);
+        config.setMinimumIdle(Math.min(minIdle, maxSize));
+        config.setIdleTimeout(poolIdleTimeout);
+        config.setMaxLifetime(poolMaxLifetime);
+        config.setConnectionTimeout(poolConnectionTimeout);
+        config.setConnectionTestQuery(poolValidationQuery.isBlank() ? defaults.validationQuery() : poolValidationQuery);
+        statementCacheProperties(driverClassName, poolStatementCacheSize).forEach(config::addDataSourceProperty);
+        ExecutionMode executionMode = ExecutionMode.from(mode);
+        readOnlyProperties(dialect, executionMode).forEach(config::addDataSourceProperty);
+        // HikariCP sets and restores the read-only flag of every connection, SQLite refuses to clear it
+        config.setReadOnly(executionMode == ExecutionMode.READONLY_ANALYTICS);
+        if (poolLazyStart) {
+            // the pool starts on the first getConnection, so the MCP handshake does not wait for the database
+            HikariDataSource dataSource = new HikariDataSource();
+            config.copyStateTo(dataSource);
+            return dataSource;
+        }
+        return new HikariDataSource(config);
     }
 
 }
@@ -0,0 +1,80 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The databases the explorer supports, told apart by the prefix of their JDBC URL.
+ * {@link DataSourceConfig} picks the driver from it, and tools that need SQL a database only
+ * understands in its own dialect, such as its catalog tables, pick the SQL from it.
+ */
+public enum Dialect {
+
+    SQLITE("jdbc:sqlite:", "org.sqlite.JDBC", '"'),
+    POSTGRES("jdbc:postgresql:", "org.postgresql.Driver", '"'),
+    H2("jdbc:h2:", "org.h2.Driver", '"'),
+    MYSQL("jdbc:mysql:", "com.mysql.cj.jdbc.Driver", '`'),
+    ORACLE("jdbc:oracle:", "oracle.jdbc.OracleDriver", '"');
+
+    private final String urlPrefix;
+    private final String driverClassName;
+    private final char quote;
+
+    Dialect(String urlPrefix, String driverClassName, char quote) {
+        this.urlPrefix = urlPrefix;
+        this.driverClassName = driverClassName;
+        this.quote = quote;
+    }
+
+    public String urlPrefix() {
+        return urlPrefix;
+    }
+
+    public String driverClassName() {
+        return driverClassName;
+    }
+
+    public static Optional<Dialect> fromUrl(String url) {
+        if (url == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values()).filter(dialect -> url.startsWith(dialect.urlPrefix)).findFirst();
+    }
+
+    /**
+     * @return the dialect of the database the connection is open to, empty if it is not a supported one
+     */
+    public static Optional<Dialect> of(Connection conn) throws SQLException {
+        return fromUrl(conn.getMetaData().getURL());
+    }
+
+    public boolean matches(Connection conn) throws SQLException {
+        return of(conn).orElse(null) == this;
+    }
+
+    /**
+     * @return the identifier in quotes, with any quote inside it doubled
+     */
+    public String quote(String identifier) {
+        String escaped = identifier.replace(String.valueOf(quote), String.valueOf(quote) + quote);
+        return quote + escaped + quote;
+    }
+
+    /**
+     * The quoted name of a table, qualified by its schema, or by its catalog where the database has
+     * no schemas, as MySQL reports its databases as catalogs.
+     */
+    public String qualifiedName(String catalog, String schema, String table) {
+        String qualifier = schema != null ? schema : this == MYSQL ? catalog : null;
+        return qualifier == null ? quote(table) : quote(qualifier) + "." + quote(table);
+    }
+
+    /**
+     * @return the clause that limits a query to its first rows, placed at the end of the query
+     */
+    public String limitClause(long rows) {
+        return this == ORACLE ? "FETCH FIRST " + rows + " ROWS ONLY" : "LIMIT " + rows;
+    }
+}
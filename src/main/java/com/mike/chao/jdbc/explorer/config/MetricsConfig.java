@@ -0,0 +1,80 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mike.chao.jdbc.explorer.metrics.MetricsFileExporter;
+import com.mike.chao.jdbc.explorer.metrics.ToolMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+
+@Configuration
+public class MetricsConfig {
+
+    static final String METRICS_URI = "metrics://tool-calls";
+
+    @Value("${db.metrics.file:}")
+    private String metricsFile;
+
+    @Value("${db.metrics.flush-interval:60000}")
+    private long flushInterval;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    public ToolMetrics toolMetrics(MeterRegistry meterRegistry, DataSource dataSource) {
+        var toolMetrics = new ToolMetrics(meterRegistry);
+        toolMetrics.bindPool(dataSource);
+        return toolMetrics;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "db.metrics.file")
+    public MetricsFileExporter metricsFileExporter(ToolMetrics toolMetrics, ObjectMapper objectMapper) {
+        return new MetricsFileExporter(toolMetrics, objectMapper, Path.of(metricsFile), flushInterval);
+    }
+
+    @Bean
+    public List<McpServerFeatures.SyncResourceSpecification> metricsResources(ToolMetrics toolMetrics, ObjectMapper objectMapper) {
+        var metricsResource = new McpSchema.Resource(
+            METRICS_URI,
+            "Tool Metrics",
+            "Call timings, result sizes, errors by SQLState and connection pool usage of this server",
+            "application/json",
+            null
+        );
+
+        BiFunction<McpSyncServerExchange, McpSchema.ReadResourceRequest, McpSchema.ReadResourceResult> readHandler =
+        (exchange, readResourceRequest) -> {
+            var uri = readResourceRequest.uri();
+            try {
+                var json = objectMapper.writeValueAsString(toolMetrics.snapshot());
+                return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(uri, "application/json", json)));
+            } catch (JsonProcessingException e) {
+                return new McpSchema.ReadResourceResult(List.of(
+                    new McpSchema.TextResourceContents(uri, "text/plain", "Error reading metrics: " + e.getMessage())
+                ));
+            }
+        };
+        return List.of(new McpServerFeatures.SyncResourceSpecification(metricsResource, readHandler));
+    }
+}
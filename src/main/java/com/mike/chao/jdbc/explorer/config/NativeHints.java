@@ -0,0 +1,62 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.mike.chao.jdbc.explorer.data.ColumnDetail;
+import com.mike.chao.jdbc.explorer.data.ColumnProfile;
+import com.mike.chao.jdbc.explorer.data.ForeignKeyDetail;
+import com.mike.chao.jdbc.explorer.data.IndexDetail;
+import com.mike.chao.jdbc.explorer.data.MeterSnapshot;
+import com.mike.chao.jdbc.explorer.data.QueryColumn;
+import com.mike.chao.jdbc.explorer.data.QueryOutcome;
+import com.mike.chao.jdbc.explorer.data.QueryParameter;
+import com.mike.chao.jdbc.explorer.data.QueryPlan;
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+import com.mike.chao.jdbc.explorer.data.SchemaCacheStatus;
+import com.mike.chao.jdbc.explorer.data.TableDetails;
+import com.mike.chao.jdbc.explorer.data.TableInfo;
+import com.mike.chao.jdbc.explorer.data.TableProfile;
+import com.mike.chao.jdbc.explorer.data.TableSample;
+import com.mike.chao.jdbc.explorer.data.TableStats;
+import com.mike.chao.jdbc.explorer.data.ValueCount;
+import com.mike.chao.jdbc.explorer.query.QueryResultConverter;
+import com.mike.chao.jdbc.explorer.tools.DatabaseInfoToolProvider;
+import com.zaxxer.hikari.HikariConfig;
+
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+/**
+ * Reflection and resource hints for the native image. Spring AI already registers the MCP schema
+ * types and the {@code @Tool} methods, these cover what jdbc-explorer adds on top.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    /** Types taken and returned by the tools and resources, (de)serialized by Jackson. */
+    static final List<Type> JSON_TYPES = List.of(ColumnDetail.class, ColumnProfile.class,
+        DatabaseInfoToolProvider.DatabaseInfo.class, ForeignKeyDetail.class, IndexDetail.class, MeterSnapshot.class, QueryColumn.class, QueryOutcome.class, QueryParameter.class,
+        QueryPlan.class, QueryResult.class, SchemaCacheStatus.class, TableDetails.class, TableInfo.class,
+        TableProfile.class, TableSample.class, TableStats.class, ValueCount.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Type[]::new));
+
+        // the driver is picked from db.url at runtime, so every supported one has to be in the image
+        for (String driverClassName : DataSourceConfig.driverClassNames()) {
+            hints.reflection().registerTypeIfPresent(classLoader, driverClassName, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("META-INF/services/java.sql.Driver");
+
+        // McpSession reads the exchange of each session, db.pool.lazy-start copies the pool settings field by field
+        hints.reflection().registerType(McpSyncServerExchange.class, MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(HikariConfig.class, MemberCategory.DECLARED_FIELDS);
+        // Spring AI creates the result converter named on @Tool reflectively
+        hints.reflection().registerType(QueryResultConverter.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import java.util.Locale;
+
+import com.mike.chao.jdbc.explorer.data.QueryPlan;
+
+/**
+ * The most a query may be estimated to cost before it runs. When either limit is set, queries are explained
+ * first and rejected with their plan if an estimate goes over it.
+ *
+ * @param maxCost the highest planner cost allowed, in the units of the database, 0 for no limit
+ * @param maxEstimatedRows the most rows the plan may be estimated to return or scan, 0 for no limit
+ */
+public record QueryBudget(double maxCost, long maxEstimatedRows) {
+
+    public static QueryBudget unlimited() {
+        return new QueryBudget(0, 0);
+    }
+
+    public boolean enabled() {
+        return maxCost > 0 || maxEstimatedRows > 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the plan goes over the budget, the message holds the plan
+     *         so the query can be rewritten
+     */
+    public void check(QueryPlan plan) {
+        String exceeded = null;
+        if (maxCost > 0 && plan.estimatedCost() != null && plan.estimatedCost() > maxCost) {
+            exceeded = String.format(Locale.ROOT, "its estimated cost %.2f is over the budget of %.2f",
+                plan.estimatedCost(), maxCost);
+        } else if (maxEstimatedRows > 0 && plan.estimatedRows() != null && plan.estimatedRows() > maxEstimatedRows) {
+            exceeded = "its estimated %d rows are over the budget of %d".formatted(plan.estimatedRows(), maxEstimatedRows);
+        }
+        if (exceeded != null) {
+            String scans = plan.fullScans().isEmpty() ? "" : " Tables read in full: " + String.join(", ", plan.fullScans()) + ".";
+            throw new IllegalArgumentException("""
+                Query rejected, %s. Add conditions on indexed columns or join conditions and try again.%s Plan:
+                %s""".formatted(exceeded, scans, plan.plan()));
+        }
+    }
+}
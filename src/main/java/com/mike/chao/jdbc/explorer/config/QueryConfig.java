@@ -0,0 +1,79 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mike.chao.jdbc.explorer.query.ExecutionMode;
+import com.mike.chao.jdbc.explorer.query.QueryCursorRegistry;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+
+@Configuration
+public class QueryConfig {
+
+    @Value("${db.mode:default}")
+    private String mode;
+
+    @Value("${db.query.fetch-size:-1}")
+    private int fetchSize;
+
+    @Value("${db.query.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${db.query.max-bytes:8388608}")
+    private long maxBytes;
+
+    @Value("${db.cursor.idle-timeout:300000}")
+    private long cursorIdleTimeout;
+
+    @Value("${db.cursor.max-open:4}")
+    private int maxOpenCursors;
+
+    @Value("${db.cursor.max-open-per-session:0}")
+    private int maxOpenCursorsPerSession;
+
+    @Value("${db.query.max-parallel:4}")
+    private int maxParallelQueries;
+
+    @Value("${db.query.timeout:60}")
+    private int queryTimeout;
+
+    @Value("${db.query.max-concurrent:8}")
+    private int maxConcurrentQueries;
+
+    @Value("${db.query.max-queued:32}")
+    private int maxQueuedQueries;
+
+    @Value("${db.query.queue-timeout:10000}")
+    private long queueTimeout;
+
+    @Value("${db.query.max-cost:0}")
+    private double maxCost;
+
+    @Value("${db.query.max-estimated-rows:0}")
+    private long maxEstimatedRows;
+
+    @Bean
+    public QuerySettings querySettings() {
+        ExecutionMode executionMode = ExecutionMode.from(mode);
+        int effectiveFetchSize = fetchSize >= 0 ? fetchSize : executionMode.defaultFetchSize();
+        return new QuerySettings(effectiveFetchSize, maxRows, maxBytes, cursorIdleTimeout, maxOpenCursors, executionMode,
+            maxParallelQueries);
+    }
+
+    @Bean
+    public QueryCursorRegistry queryCursorRegistry(QuerySettings querySettings) {
+        return new QueryCursorRegistry(querySettings.cursorIdleTimeoutMillis(), querySettings.maxOpenCursors(),
+            maxOpenCursorsPerSession);
+    }
+
+    @Bean
+    public QueryGuard queryGuard() {
+        return new QueryGuard(queryTimeout, maxConcurrentQueries, maxQueuedQueries, queueTimeout);
+    }
+
+    @Bean
+    public QueryBudget queryBudget() {
+        return new QueryBudget(maxCost, maxEstimatedRows);
+    }
+}
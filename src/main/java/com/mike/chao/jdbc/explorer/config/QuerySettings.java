@@ -0,0 +1,42 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import java.util.Objects;
+
+import com.mike.chao.jdbc.explorer.query.ExecutionMode;
+
+/**
+ * Limits applied when {@code executeQuery} reads a result set.
+ *
+ * @param fetchSize number of rows the driver fetches per round trip, also the default page size for cursors
+ * @param maxRows maximum number of rows returned, 0 for no limit
+ * @param maxBytes approximate maximum serialized size of the returned rows, 0 for no limit
+ * @param cursorIdleTimeoutMillis how long an unused cursor stays open
+ * @param maxOpenCursors maximum number of cursors open at the same time, each one holds a connection
+ * @param mode how borrowed connections are set up and which statements are allowed
+ * @param maxParallelQueries how many queries of one {@code executeQueries} call run at the same time
+ */
+public record QuerySettings(int fetchSize, int maxRows, long maxBytes, long cursorIdleTimeoutMillis, int maxOpenCursors,
+        ExecutionMode mode, int maxParallelQueries) {
+
+    static final int DEFAULT_MAX_PARALLEL_QUERIES = 4;
+
+    public QuerySettings {
+        mode = Objects.requireNonNullElse(mode, ExecutionMode.DEFAULT);
+        if (maxParallelQueries <= 0) {
+            maxParallelQueries = DEFAULT_MAX_PARALLEL_QUERIES;
+        }
+    }
+
+    public QuerySettings(int fetchSize, int maxRows, long maxBytes, long cursorIdleTimeoutMillis, int maxOpenCursors,
+            ExecutionMode mode) {
+        this(fetchSize, maxRows, maxBytes, cursorIdleTimeoutMillis, maxOpenCursors, mode, DEFAULT_MAX_PARALLEL_QUERIES);
+    }
+
+    public QuerySettings(int fetchSize, int maxRows, long maxBytes, long cursorIdleTimeoutMillis, int maxOpenCursors) {
+        this(fetchSize, maxRows, maxBytes, cursorIdleTimeoutMillis, maxOpenCursors, ExecutionMode.DEFAULT);
+    }
+
+    public static QuerySettings defaults() {
+        return new QuerySettings(ExecutionMode.DEFAULT.defaultFetchSize(), 10_000, 8L * 1024 * 1024, 300_000, 4);
+    }
+}
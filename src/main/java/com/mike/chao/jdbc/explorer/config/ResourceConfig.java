@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.mike.chao.jdbc.explorer.resources.BusinessInsights;
+import com.mike.chao.jdbc.explorer.session.McpSession;
 
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
@@ -34,7 +35,9 @@ public class ResourceConfig {
                 ));
             }
             
-            var content = new McpSchema.TextResourceContents(uri, "text/plain", businessInsights.getInsights());
+            // each session reads the insights it added
+            var insights = McpSession.callAs(McpSession.id(exchange), businessInsights::getInsights);
+            var content = new McpSchema.TextResourceContents(uri, "text/plain", insights);
             return new McpSchema.ReadResourceResult(List.of(content));
         };
         var resourceSpec = new McpServerFeatures.SyncResourceSpecification(businessInsightsResource, readHandler);
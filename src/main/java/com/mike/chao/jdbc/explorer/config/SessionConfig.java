@@ -0,0 +1,36 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.mike.chao.jdbc.explorer.session.McpSession;
+import com.mike.chao.jdbc.explorer.session.SessionRateLimiter;
+
+@Configuration
+public class SessionConfig {
+
+    @Value("${db.session.rate-limit:0}")
+    private double rateLimit;
+
+    @Value("${db.session.burst:20}")
+    private int burst;
+
+    @Bean
+    public SessionRateLimiter sessionRateLimiter() {
+        return new SessionRateLimiter(rateLimit, burst);
+    }
+
+    /**
+     * Many clients share one server over HTTP/SSE, so startup fails when their sessions cannot be told apart.
+     */
+    @Configuration
+    @Profile("sse")
+    static class SessionIsolation {
+
+        SessionIsolation() {
+            McpSession.requireSessionIds();
+        }
+    }
+}
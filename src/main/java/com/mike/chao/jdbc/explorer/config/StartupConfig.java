@@ -0,0 +1,25 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mike.chao.jdbc.explorer.metrics.MetricsFileExporter;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpSyncServer;
+
+/**
+ * Keeps the beans that must run on their own eager when {@code spring.main.lazy-initialization=true},
+ * as set by the {@code fast-startup} profile. Everything else is created when the MCP server first needs it.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerServerBeans() {
+        // nothing asks for the server or the exporter, left lazy they would never start
+        return LazyInitializationExcludeFilter.forBeanTypes(McpSyncServer.class, McpAsyncServer.class,
+            MetricsFileExporter.class);
+    }
+}
@@ -5,11 +5,12 @@ import java.util.List;
 
 import org.springframework.ai.mcp.McpToolUtils;
 import org.springframework.ai.tool.ToolCallback;
-import org.springframework.ai.tool.ToolCallbacks;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.mike.chao.jdbc.explorer.ExplorerService;
+import com.mike.chao.jdbc.explorer.metrics.ToolMetrics;
+import com.mike.chao.jdbc.explorer.session.SessionRateLimiter;
 import com.mike.chao.jdbc.explorer.tools.BusinessInsightsToolProvider;
 import com.mike.chao.jdbc.explorer.tools.DatabaseInfoToolProvider;
 
@@ -26,11 +27,13 @@ public class ToolConfig {
 
 	// lower level API, but more flexible
 	@Bean
-	public List<McpServerFeatures.SyncToolSpecification> tools(ExplorerService explorerService,  DatabaseInfoToolProvider databaseInfoToolProvider, BusinessInsightsToolProvider businessInsightsToolProvider) {
-		List<ToolCallback> toolCallBacks = List.of(ToolCallbacks.from(explorerService));
+	public List<McpServerFeatures.SyncToolSpecification> tools(ExplorerService explorerService,  DatabaseInfoToolProvider databaseInfoToolProvider, BusinessInsightsToolProvider businessInsightsToolProvider, ToolMetrics toolMetrics, SessionRateLimiter sessionRateLimiter) {
+		// reuse the callbacks ExplorerService resolved at startup instead of reflecting over it again
+		List<ToolCallback> toolCallBacks = explorerService.getToolCallbacks();
 		List<McpServerFeatures.SyncToolSpecification> syncToolSpecs = new ArrayList<>(McpToolUtils.toSyncToolSpecification(toolCallBacks));
 		syncToolSpecs.add(databaseInfoToolProvider.getDatabaseInfoTool());
 		syncToolSpecs.add(businessInsightsToolProvider.getAddBusinessInsightsTool());
-		return syncToolSpecs;
+		// calls refused by the rate limit are still timed, as errors
+		return syncToolSpecs.stream().map(sessionRateLimiter::bind).map(toolMetrics::instrument).toList();
 	}
 }
@@ -0,0 +1,24 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * What {@code profileTable} found in one column. {@code distinctEstimate}, {@code topValues} and
+ * {@code quantiles} come from sketches and are estimates, the other fields are exact for the rows profiled.
+ * {@code mean} and {@code quantiles} are only set for numeric columns.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ColumnProfile(
+    ColumnDetail column,
+    long nullCount,
+    double nullRatio,
+    Long distinctEstimate,
+    Object min,
+    Object max,
+    Double mean,
+    Map<String, Double> quantiles,
+    List<ValueCount> topValues
+) {}
@@ -0,0 +1,9 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MeterSnapshot(String name, String baseUnit, Map<String, String> tags, Map<String, Double> measurements) {
+}
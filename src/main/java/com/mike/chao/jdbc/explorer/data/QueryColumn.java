@@ -0,0 +1,3 @@
+package com.mike.chao.jdbc.explorer.data;
+
+public record QueryColumn(String name, String type) {}
@@ -0,0 +1,15 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The outcome of one query of an {@code executeQueries} call, either its {@code result} or the {@code error}
+ * it failed with. {@code index} is the position of the query in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QueryOutcome(
+    int index,
+    QueryResult result,
+    String error,
+    long elapsedMillis
+) {}
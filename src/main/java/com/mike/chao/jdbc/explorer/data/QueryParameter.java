@@ -0,0 +1,13 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import org.springframework.ai.tool.annotation.ToolParam;
+
+/**
+ * A value bound to a {@code ?} placeholder of {@code executeParameterizedQuery}.
+ */
+public record QueryParameter(
+    @ToolParam(description = """
+        Type of the value: string, integer, long, decimal, double, boolean, date (yyyy-MM-dd), \
+        time (HH:mm:ss) or timestamp (yyyy-MM-ddTHH:mm:ss)""") String type,
+    @ToolParam(description = "The value written as text, omit it for SQL NULL", required = false) String value
+) {}
@@ -0,0 +1,23 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The result of {@code explainQuery}, also attached to queries rejected for going over the cost budget.
+ *
+ * @param estimatedCost the planner cost of the whole query, in the units of the database, PostgreSQL and MySQL only
+ * @param estimatedRows the rows the planner expects the query to return on PostgreSQL and MySQL. H2 and SQLite
+ *                      give no estimate, there it is the row counts of the fully scanned tables multiplied together,
+ *                      the rows read when the scans are nested
+ * @param fullScans the tables read in full rather than through an index condition
+ * @param plan the plan as the database returned it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QueryPlan(
+    Double estimatedCost,
+    Long estimatedRows,
+    List<String> fullScans,
+    String plan
+) {}
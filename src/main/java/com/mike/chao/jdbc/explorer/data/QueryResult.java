@@ -0,0 +1,28 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Rows read by {@code executeQuery} or {@code fetchNextPage}.
+ * In the {@code rows} format every row is an object keyed by column name. In the {@code compact} and
+ * {@code columnar} formats the column names and types are listed once in {@code columns} and {@code data}
+ * holds one positional array per row or one array of values per column respectively.
+ * When {@code truncated} is true the result set had more rows than the limits allowed and
+ * {@code truncationReason} names the limit that was hit. {@code cursor} is set when the remaining rows
+ * can be read with {@code fetchNextPage}. {@code cache} is {@code hit} or {@code miss} when the result cache is on.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QueryResult(
+    String format,
+    List<QueryColumn> columns,
+    List<Map<String, Object>> rows,
+    List<List<Object>> data,
+    int rowCount,
+    boolean truncated,
+    String truncationReason,
+    String cursor,
+    String cache
+) {}
@@ -0,0 +1,3 @@
+package com.mike.chao.jdbc.explorer.data;
+
+public record SchemaCacheStatus(int invalidatedEntries, long hits, long misses, int cachedEntries) {}
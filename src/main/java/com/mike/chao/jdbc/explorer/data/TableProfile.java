@@ -0,0 +1,14 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import java.util.List;
+
+/**
+ * The result of {@code profileTable}. {@code complete} is false when only the first {@code rowCount} rows
+ * of the table, or a random sample of them, were profiled.
+ */
+public record TableProfile(
+    String tableName,
+    long rowCount,
+    boolean complete,
+    List<ColumnProfile> columns
+) {}
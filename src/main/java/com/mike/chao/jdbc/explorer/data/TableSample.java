@@ -0,0 +1,16 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The result of {@code sampleTable}. Passing {@code seed} back reads the same sample again as long as the
+ * table has not changed, {@code percent} is the share of the table a sampling clause read.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TableSample(
+    String tableName,
+    String method,
+    Double percent,
+    long seed,
+    QueryResult result
+) {}
@@ -0,0 +1,25 @@
+package com.mike.chao.jdbc.explorer.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The size of a table as returned by {@code getTableStats}. {@code source} tells where {@code estimatedRows}
+ * came from: {@code statistics} kept by the database, an exact {@code count} of a small table, a {@code sample}
+ * of its blocks, or {@code count-limit} when the table has more rows than were counted and
+ * {@code estimatedRows} is only a lower bound.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TableStats(
+    String catalog,
+    String schema,
+    String tableName,
+    Long estimatedRows,
+    Long sizeBytes,
+    String lastAnalyzed,
+    String source
+) {
+
+    public TableStats withRows(long rows, String rowsSource) {
+        return new TableStats(catalog, schema, tableName, rows, sizeBytes, lastAnalyzed, rowsSource);
+    }
+}
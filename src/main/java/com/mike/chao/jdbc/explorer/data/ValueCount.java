@@ -0,0 +1,6 @@
+package com.mike.chao.jdbc.explorer.data;
+
+/**
+ * One of the most frequent values of a column, {@code count} is an estimate that may be over by a little.
+ */
+public record ValueCount(Object value, long count) {}
@@ -0,0 +1,61 @@
+package com.mike.chao.jdbc.explorer.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Periodically writes the {@link ToolMetrics} snapshot as JSON to a file.
+ * STDIO is taken by the MCP transport, so the file is a side channel that external tools can read.
+ * The file is replaced atomically so readers never see a partial write.
+ */
+public class MetricsFileExporter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsFileExporter.class);
+
+    private final ToolMetrics toolMetrics;
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsFileExporter(ToolMetrics toolMetrics, ObjectMapper objectMapper, Path file, long flushIntervalMillis) {
+        this.toolMetrics = toolMetrics;
+        this.objectMapper = objectMapper;
+        this.file = file.toAbsolutePath();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-file-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void flush() {
+        try {
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), toolMetrics.snapshot());
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Error writing metrics to {} message: {}", file, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flush();
+    }
+}
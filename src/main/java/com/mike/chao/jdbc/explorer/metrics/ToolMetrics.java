@@ -0,0 +1,187 @@
+package com.mike.chao.jdbc.explorer.metrics;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import javax.sql.DataSource;
+
+import com.mike.chao.jdbc.explorer.data.MeterSnapshot;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Micrometer meters for the MCP tools: call timers, result sizes, rows returned,
+ * errors by SQLState and connection pool gauges.
+ */
+public class ToolMetrics {
+
+    public static final String PREFIX = "jdbc.explorer";
+    static final String TOOL_CALLS = PREFIX + ".tool.calls";
+    static final String TOOL_ERRORS = PREFIX + ".tool.errors";
+    static final String RESULT_SIZE = PREFIX + ".tool.result.size";
+    static final String ROWS = PREFIX + ".query.rows";
+    static final String POOL_CONNECTIONS = PREFIX + ".pool.connections";
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+
+    public ToolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static ToolMetrics simple() {
+        return new ToolMetrics(new SimpleMeterRegistry());
+    }
+
+    /**
+     * Wraps a tool so every call is timed and the size of its text result is recorded.
+     */
+    public McpServerFeatures.SyncToolSpecification instrument(McpServerFeatures.SyncToolSpecification spec) {
+        String toolName = spec.tool().name();
+        return new McpServerFeatures.SyncToolSpecification(spec.tool(), (exchange, args) -> {
+            long start = System.nanoTime();
+            boolean error = true;
+            try {
+                McpSchema.CallToolResult result = spec.call().apply(exchange, args);
+                error = Boolean.TRUE.equals(result.isError());
+                recordResultSize(toolName, result);
+                return result;
+            } finally {
+                Timer.builder(TOOL_CALLS)
+                    .description("Time spent in MCP tool calls")
+                    .tag("tool", toolName)
+                    .tag("outcome", error ? "error" : "success")
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    public void recordRows(String toolName, int rows) {
+        DistributionSummary.builder(ROWS)
+            .description("Rows returned by a query tool call")
+            .baseUnit("rows")
+            .tag("tool", toolName)
+            .publishPercentiles(PERCENTILES)
+            .register(registry)
+            .record(rows);
+    }
+
+    /**
+     * Counts a failed tool call, tagged with the SQLState of the first {@link SQLException} in the cause chain.
+     */
+    public void recordError(String toolName, Throwable error) {
+        registry.counter(TOOL_ERRORS, "tool", toolName, "sqlState", sqlState(error)).increment();
+    }
+
+    /**
+     * Registers gauges for the active, idle, total and pending connections of a HikariCP pool.
+     * Other data sources have no pool to report on and are ignored.
+     */
+    public void bindPool(DataSource dataSource) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return;
+        }
+        Map<String, ToDoubleFunction<HikariPoolMXBean>> states = Map.of(
+            "active", HikariPoolMXBean::getActiveConnections,
+            "idle", HikariPoolMXBean::getIdleConnections,
+            "total", HikariPoolMXBean::getTotalConnections,
+            "pending", HikariPoolMXBean::getThreadsAwaitingConnection);
+        states.forEach((state, value) -> Gauge.builder(POOL_CONNECTIONS, hikari, ds -> {
+                HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+                return pool == null ? Double.NaN : value.applyAsDouble(pool);
+            })
+            .description("Connections in the pool")
+            .tag("state", state)
+            .register(registry));
+    }
+
+    /**
+     * @return the current value of every jdbc-explorer meter, sorted by name and tags
+     */
+    public List<MeterSnapshot> snapshot() {
+        List<MeterSnapshot> snapshots = new ArrayList<>();
+        for (Meter meter : registry.getMeters()) {
+            Meter.Id id = meter.getId();
+            if (!id.getName().startsWith(PREFIX)) {
+                continue;
+            }
+            Map<String, String> tags = new LinkedHashMap<>();
+            for (Tag tag : id.getTags()) {
+                tags.put(tag.getKey(), tag.getValue());
+            }
+            Map<String, Double> measurements = new LinkedHashMap<>();
+            for (Measurement measurement : meter.measure()) {
+                measurements.put(measurement.getStatistic().getTagValueRepresentation(), measurement.getValue());
+            }
+            snapshots.add(new MeterSnapshot(id.getName(), id.getBaseUnit(), tags, measurements));
+        }
+        snapshots.sort(Comparator.comparing(MeterSnapshot::name).thenComparing(snapshot -> snapshot.tags().toString()));
+        return snapshots;
+    }
+
+    private void recordResultSize(String toolName, McpSchema.CallToolResult result) {
+        long bytes = 0;
+        for (McpSchema.Content content : result.content()) {
+            if (content instanceof McpSchema.TextContent text && text.text() != null) {
+                bytes += utf8Length(text.text());
+            }
+        }
+        DistributionSummary.builder(RESULT_SIZE)
+            .description("Serialized size of the tool result")
+            .baseUnit("bytes")
+            .tag("tool", toolName)
+            .publishPercentiles(PERCENTILES)
+            .register(registry)
+            .record(bytes);
+    }
+
+    /**
+     * Counts the UTF-8 encoded length without copying the text, results can be several megabytes.
+     */
+    static long utf8Length(String text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    static String sqlState(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return "none";
+    }
+}
@@ -31,9 +31,12 @@ public class ExplorerPromptProvider {
 
             You have the following tools at your disposal:
             'executeQuery': Execute a SQL query and return the results.
+            'fetchNextPage': Fetch the next page of a large query result using the cursor returned by 'executeQuery'.
             'getTableNames': Get the names of all tables in the database including type, schema, and remarks
             'getDatabaseInfo': Get information about the database. Run this before anything else to know the SQL dialect, keywords etc..
             'describeTable': Describe a table in the database, including column information, primary keys, foreign keys, and indexes.
+            'describeSchema': Describe every table in a schema at once. Prefer this over many 'describeTable' calls when exploring the whole schema.
+            'invalidateSchemaCache': Clear the cached table names and descriptions after changing the schema.
             'addBusinessInsight': Append a business insight to the memo, which is a list of insights discovered from data analysis.
 
             1. Examine the database schema and understand the relationships between tables.
@@ -0,0 +1,170 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.Locale;
+
+/**
+ * Reads the value of one column, chosen once per column from {@link ResultSetMetaData#getColumnType}.
+ * Numbers are read with the primitive getters, temporal values as {@code java.time} types that
+ * {@link QueryResultConverter} writes as ISO-8601 strings, large objects and vendor types such as JSON,
+ * UUID or intervals as text, so no value is a driver class Jackson has to reflect over.
+ */
+enum ColumnReader {
+
+    BOOLEAN {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            boolean value = rs.getBoolean(column);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    INT {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            int value = rs.getInt(column);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    LONG {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            long value = rs.getLong(column);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    FLOAT {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            float value = rs.getFloat(column);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    DOUBLE {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            double value = rs.getDouble(column);
+            return rs.wasNull() ? null : value;
+        }
+    },
+    DECIMAL {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getBigDecimal(column);
+        }
+    },
+    STRING {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getString(column);
+        }
+    },
+    BYTES {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getBytes(column);
+        }
+    },
+    DATE {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getObject(column, LocalDate.class);
+        }
+    },
+    TIME {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getObject(column, LocalTime.class);
+        }
+    },
+    TIME_WITH_TIMEZONE {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getObject(column, OffsetTime.class);
+        }
+    },
+    TIMESTAMP {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getObject(column, LocalDateTime.class);
+        }
+    },
+    TIMESTAMP_WITH_TIMEZONE {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getObject(column, OffsetDateTime.class);
+        }
+    },
+    ARRAY {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            Array array = rs.getArray(column);
+            if (array == null) {
+                return null;
+            }
+            try {
+                return array.getArray();
+            } finally {
+                array.free();
+            }
+        }
+    },
+    OBJECT {
+        @Override
+        Object read(ResultSet rs, int column) throws SQLException {
+            return rs.getObject(column);
+        }
+    };
+
+    /**
+     * @param column the 1-based column index
+     * @return the value of the column in the current row, null for SQL NULL
+     */
+    abstract Object read(ResultSet rs, int column) throws SQLException;
+
+    /**
+     * Picks the reader for a column from its JDBC type.
+     */
+    static ColumnReader forColumn(ResultSetMetaData rsmd, int column) throws SQLException {
+        return switch (rsmd.getColumnType(column)) {
+            case Types.BOOLEAN -> BOOLEAN;
+            // BIT(n) with more than one bit is a bit string, not a boolean
+            case Types.BIT -> rsmd.getPrecision(column) <= 1 ? BOOLEAN : OBJECT;
+            case Types.TINYINT, Types.SMALLINT -> INT;
+            // unsigned MySQL columns hold values that do not fit the signed type
+            case Types.INTEGER -> rsmd.isSigned(column) ? INT : LONG;
+            case Types.BIGINT -> rsmd.isSigned(column) ? LONG : DECIMAL;
+            case Types.REAL -> FLOAT;
+            case Types.FLOAT, Types.DOUBLE -> DOUBLE;
+            case Types.DECIMAL, Types.NUMERIC -> DECIMAL;
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR,
+                Types.CLOB, Types.NCLOB, Types.SQLXML, Types.ROWID, Types.OTHER -> STRING;
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB ->
+                "UUID".equalsIgnoreCase(rsmd.getColumnTypeName(column)) ? STRING : BYTES;
+            case Types.DATE -> DATE;
+            // pgjdbc reports timetz and timestamptz as TIME and TIMESTAMP, they do not convert to the local types
+            case Types.TIME -> hasTimeZone(rsmd.getColumnTypeName(column)) ? TIME_WITH_TIMEZONE : TIME;
+            case Types.TIME_WITH_TIMEZONE -> TIME_WITH_TIMEZONE;
+            case Types.TIMESTAMP -> hasTimeZone(rsmd.getColumnTypeName(column)) ? TIMESTAMP_WITH_TIMEZONE : TIMESTAMP;
+            case Types.TIMESTAMP_WITH_TIMEZONE -> TIMESTAMP_WITH_TIMEZONE;
+            case Types.ARRAY -> ARRAY;
+            default -> OBJECT;
+        };
+    }
+
+    private static boolean hasTimeZone(String typeName) {
+        if (typeName == null) {
+            return false;
+        }
+        String name = typeName.toLowerCase(Locale.ROOT);
+        return name.equals("timestamptz") || name.equals("timetz") || name.contains("with time zone");
+    }
+}
@@ -0,0 +1,96 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * How the connections borrowed by {@code ExplorerService} are set up, selected with {@code db.mode}.
+ */
+public enum ExecutionMode {
+
+    /** Connections are used with the driver defaults. */
+    DEFAULT("default", 500),
+
+    /**
+     * Connections are read-only with READ COMMITTED isolation where the driver supports it,
+     * so the database can skip write locks, and anything other than a query is rejected before it is sent.
+     */
+    READONLY_ANALYTICS("readonly-analytics", 2000);
+
+    private final String value;
+    private final int defaultFetchSize;
+
+    ExecutionMode(String value, int defaultFetchSize) {
+        this.value = value;
+        this.defaultFetchSize = defaultFetchSize;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    /**
+     * @return the fetch size used when {@code db.query.fetch-size} is not set
+     */
+    public int defaultFetchSize() {
+        return defaultFetchSize;
+    }
+
+    public static ExecutionMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        return Arrays.stream(values())
+            .filter(mode -> mode.value.equalsIgnoreCase(value.trim()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown db.mode '%s', expected one of %s".formatted(value,
+                Arrays.stream(values()).map(ExecutionMode::value).collect(Collectors.joining(", ")))));
+    }
+
+    /**
+     * Applies the mode to a connection that was just borrowed from the data source.
+     * Pooled connections are reset by HikariCP when they are returned. A connection opened read-only,
+     * as SQLite connections have to be, is left as it is.
+     */
+    public void prepare(Connection connection) throws SQLException {
+        if (this != READONLY_ANALYTICS) {
+            return;
+        }
+        if (!connection.isReadOnly()) {
+            connection.setReadOnly(true);
+        }
+        if (connection.getMetaData().supportsTransactionIsolationLevel(Connection.TRANSACTION_READ_COMMITTED)) {
+            connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        }
+    }
+
+    /**
+     * Rejects statements that are not allowed in this mode before they reach the database.
+     *
+     * @throws IllegalArgumentException if the statement is not allowed
+     */
+    public void check(String sql) {
+        if (this != READONLY_ANALYTICS) {
+            return;
+        }
+        SqlText text = SqlText.of(sql);
+        String keyword = text.firstKeyword().toUpperCase(Locale.ROOT);
+        if (!text.startsLikeQuery()) {
+            throw new IllegalArgumentException("""
+                Only queries are allowed in %s mode, '%s' statements are rejected.""".formatted(value, keyword));
+        }
+        if (text.hasMultipleStatements()) {
+            throw new IllegalArgumentException("""
+                Only a single query is allowed in %s mode.""".formatted(value));
+        }
+        // a data modifying WITH, SELECT INTO or EXPLAIN ANALYZE writes even though it starts like a query
+        if (text.writeKeyword() != null) {
+            throw new IllegalArgumentException("""
+                Only queries are allowed in %s mode, '%s' statements containing '%s' are rejected.""".formatted(
+                value, keyword, text.writeKeyword()));
+        }
+    }
+}
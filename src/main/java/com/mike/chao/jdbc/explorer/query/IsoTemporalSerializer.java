@@ -0,0 +1,126 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.temporal.Temporal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes the {@code java.time} values read by {@link ColumnReader} as ISO-8601 strings, the same text as their
+ * {@code toString()}. The text is formatted into a small buffer and handed to the generator as characters, which
+ * skips the string builder and string {@code toString()} or a {@code DateTimeFormatter} create for every row.
+ * The buffer is local to the call rather than per thread, as tools run on virtual threads, the same reason
+ * {@link QueryResultConverter} pools its buffers across threads.
+ */
+class IsoTemporalSerializer extends StdSerializer<Temporal> {
+
+    // long enough for -9999-12-31T23:59:59.999999999+18:00
+    private static final int BUFFER_LENGTH = 40;
+
+    IsoTemporalSerializer() {
+        super(Temporal.class);
+    }
+
+    @Override
+    public void serialize(Temporal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = new char[BUFFER_LENGTH];
+        int length = format(value, buffer);
+        if (length < 0) {
+            gen.writeString(value.toString());
+        } else {
+            gen.writeString(buffer, 0, length);
+        }
+    }
+
+    /**
+     * @return the length of the text written to the buffer, or -1 for a value that has to fall back to
+     *         {@code toString()}, such as a year outside 0 to 9999
+     */
+    static int format(Temporal value, char[] buffer) {
+        if (value instanceof LocalDateTime dateTime) {
+            return formatDateTime(dateTime, buffer);
+        }
+        if (value instanceof LocalDate date) {
+            return formatDate(date, buffer, 0);
+        }
+        if (value instanceof LocalTime time) {
+            return formatTime(time, buffer, 0);
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            int length = formatDateTime(dateTime.toLocalDateTime(), buffer);
+            return length < 0 ? length : formatOffset(dateTime.getOffset(), buffer, length);
+        }
+        if (value instanceof OffsetTime time) {
+            return formatOffset(time.getOffset(), buffer, formatTime(time.toLocalTime(), buffer, 0));
+        }
+        return -1;
+    }
+
+    private static int formatDateTime(LocalDateTime dateTime, char[] buffer) {
+        int length = formatDate(dateTime.toLocalDate(), buffer, 0);
+        if (length < 0) {
+            return length;
+        }
+        buffer[length++] = 'T';
+        return formatTime(dateTime.toLocalTime(), buffer, length);
+    }
+
+    private static int formatDate(LocalDate date, char[] buffer, int at) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        at = digits(year, 4, buffer, at);
+        buffer[at++] = '-';
+        at = digits(date.getMonthValue(), 2, buffer, at);
+        buffer[at++] = '-';
+        return digits(date.getDayOfMonth(), 2, buffer, at);
+    }
+
+    private static int formatTime(LocalTime time, char[] buffer, int at) {
+        at = digits(time.getHour(), 2, buffer, at);
+        buffer[at++] = ':';
+        at = digits(time.getMinute(), 2, buffer, at);
+        int second = time.getSecond();
+        int nano = time.getNano();
+        if (second == 0 && nano == 0) {
+            return at;
+        }
+        buffer[at++] = ':';
+        at = digits(second, 2, buffer, at);
+        if (nano == 0) {
+            return at;
+        }
+        buffer[at++] = '.';
+        // like LocalTime.toString(), in groups of three digits
+        if (nano % 1_000_000 == 0) {
+            return digits(nano / 1_000_000, 3, buffer, at);
+        }
+        if (nano % 1_000 == 0) {
+            return digits(nano / 1_000, 6, buffer, at);
+        }
+        return digits(nano, 9, buffer, at);
+    }
+
+    private static int formatOffset(ZoneOffset offset, char[] buffer, int at) {
+        String id = offset.getId();
+        id.getChars(0, id.length(), buffer, at);
+        return at + id.length();
+    }
+
+    private static int digits(int value, int width, char[] buffer, int at) {
+        for (int i = at + width - 1; i >= at; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return at + width;
+    }
+}
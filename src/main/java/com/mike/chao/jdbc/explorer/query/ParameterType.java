@@ -0,0 +1,91 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.mike.chao.jdbc.explorer.data.QueryParameter;
+
+/**
+ * The types a {@link QueryParameter} can have and how their text is bound to a {@link PreparedStatement}.
+ */
+public enum ParameterType {
+
+    STRING("string", Types.VARCHAR, value -> value),
+    INTEGER("integer", Types.INTEGER, Integer::valueOf),
+    LONG("long", Types.BIGINT, Long::valueOf),
+    DECIMAL("decimal", Types.DECIMAL, BigDecimal::new),
+    DOUBLE("double", Types.DOUBLE, Double::valueOf),
+    BOOLEAN("boolean", Types.BOOLEAN, ParameterType::parseBoolean),
+    DATE("date", Types.DATE, LocalDate::parse),
+    TIME("time", Types.TIME, LocalTime::parse),
+    TIMESTAMP("timestamp", Types.TIMESTAMP, LocalDateTime::parse);
+
+    private final String value;
+    private final int sqlType;
+    private final Function<String, Object> parser;
+
+    ParameterType(String value, int sqlType, Function<String, Object> parser) {
+        this.value = value;
+        this.sqlType = sqlType;
+        this.parser = parser;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public static ParameterType from(String value) {
+        return Arrays.stream(values())
+            .filter(type -> type.value.equalsIgnoreCase(value == null ? "" : value.trim()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown parameter type '%s', expected one of %s".formatted(value,
+                Arrays.stream(values()).map(ParameterType::value).collect(Collectors.joining(", ")))));
+    }
+
+    /**
+     * Binds the parameters to the placeholders in order, the first parameter to the first {@code ?}.
+     *
+     * @throws IllegalArgumentException if a type is unknown or a value cannot be read as its type
+     */
+    public static void bindAll(PreparedStatement statement, List<QueryParameter> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            QueryParameter parameter = parameters.get(i);
+            if (parameter == null) {
+                throw new IllegalArgumentException("Parameter %d is missing".formatted(i + 1));
+            }
+            from(parameter.type()).bind(statement, i + 1, parameter.value());
+        }
+    }
+
+    void bind(PreparedStatement statement, int index, String text) throws SQLException {
+        if (text == null) {
+            statement.setNull(index, sqlType);
+            return;
+        }
+        Object parsed;
+        try {
+            parsed = parser.apply(this == STRING ? text : text.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Parameter %d: '%s' is not a valid %s".formatted(index, text, value), e);
+        }
+        statement.setObject(index, parsed, sqlType);
+    }
+
+    private static Boolean parseBoolean(String text) {
+        return switch (text.toLowerCase(Locale.ROOT)) {
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("not a boolean");
+        };
+    }
+}
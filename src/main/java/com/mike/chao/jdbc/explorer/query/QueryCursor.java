@@ -0,0 +1,189 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mike.chao.jdbc.explorer.session.McpSession;
+
+/**
+ * An open result set that is read a page at a time by {@code fetchNextPage}.
+ * The cursor owns its connection until it is exhausted, closed or evicted, or until the rest of the
+ * result is read into memory with {@link #buffer(int, long)}. It belongs to the MCP session that opened it.
+ */
+public class QueryCursor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCursor.class);
+
+    private final String token;
+    private final String sessionId;
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSetReader reader;
+    private final ResultFormat format;
+    private final boolean endTransactionOnClose;
+    private volatile boolean closed;
+    private boolean failed;
+    private boolean released;
+    /** The rest of the result once it was read into memory, null while it is read from the result set. */
+    private RowBatch buffered;
+    private int bufferedNext;
+    private volatile long lastAccess;
+
+    /**
+     * @param reader reader over the result set of {@code statement}
+     * @param format format the pages are returned in
+     * @param endTransactionOnClose true if autocommit was switched off to stream and must be restored. The
+     *                              transaction is committed, as autocommit would have, unless reading failed
+     */
+    public QueryCursor(String token, Connection connection, Statement statement, ResultSetReader reader,
+            ResultFormat format, boolean endTransactionOnClose) {
+        this.token = token;
+        this.sessionId = McpSession.current();
+        this.connection = connection;
+        this.statement = statement;
+        this.reader = reader;
+        this.format = format;
+        this.endTransactionOnClose = endTransactionOnClose;
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public Statement statement() {
+        return statement;
+    }
+
+    public ResultSetReader reader() {
+        return reader;
+    }
+
+    public ResultFormat format() {
+        return format;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * @return true once the rest of the result is held in memory and the statement is closed
+     */
+    public boolean isBuffered() {
+        return buffered != null;
+    }
+
+    /**
+     * Reads the next page. When the result set is exhausted the cursor closes itself.
+     */
+    public synchronized RowBatch read(int maxRows, long maxBytes) throws SQLException {
+        if (closed) {
+            throw new IllegalStateException("Cursor '%s' has been closed.".formatted(token));
+        }
+        lastAccess = System.currentTimeMillis();
+        if (buffered != null) {
+            RowBatch batch = nextBuffered(maxRows, maxBytes);
+            if (bufferedNext == buffered.rows().size()) {
+                close();
+            }
+            return batch;
+        }
+        RowBatch batch = readResultSet(maxRows, maxBytes);
+        if (!batch.truncated()) {
+            close();
+        }
+        return batch;
+    }
+
+    /**
+     * Reads the rest of the result into memory, up to the limits, and releases the connection. Used when the
+     * cursor would otherwise hold the only connection of the pool while the client pages through it. The last
+     * page reports why the result was cut short when the rest did not fit.
+     */
+    public synchronized void buffer(int maxRows, long maxBytes) throws SQLException {
+        if (closed || buffered != null) {
+            return;
+        }
+        buffered = readResultSet(maxRows, maxBytes);
+        release();
+    }
+
+    private RowBatch readResultSet(int maxRows, long maxBytes) throws SQLException {
+        try {
+            return reader.read(maxRows, maxBytes);
+        } catch (SQLException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the next page from the buffered rows. Row sizes are not kept, so the byte limit is applied
+     * with the average size of the buffered rows.
+     */
+    private RowBatch nextBuffered(int maxRows, long maxBytes) {
+        List<Object[]> rows = buffered.rows();
+        int count = rows.size() - bufferedNext;
+        long rowBytes = rows.isEmpty() ? 0 : Math.max(1, buffered.bytes() / rows.size());
+        String truncationReason = buffered.truncationReason();
+        if (maxRows > 0 && maxRows < count) {
+            count = maxRows;
+            truncationReason = ResultSetReader.TRUNCATED_BY_MAX_ROWS;
+        }
+        if (maxBytes > 0 && count > 1 && count * rowBytes > maxBytes) {
+            count = (int) Math.max(1, maxBytes / rowBytes);
+            truncationReason = ResultSetReader.TRUNCATED_BY_MAX_BYTES;
+        }
+        List<Object[]> page = rows.subList(bufferedNext, bufferedNext + count);
+        bufferedNext += count;
+        return new RowBatch(page, truncationReason, count * rowBytes);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        release();
+    }
+
+    /**
+     * Closes the statement and hands the connection back, ending the transaction it was streamed in.
+     */
+    private void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        try (connection) {
+            // closing the statement also closes its result set
+            statement.close();
+            if (endTransactionOnClose) {
+                // the query ran, a function it called may have written, so keep what autocommit would have kept
+                if (failed) {
+                    connection.rollback();
+                } else {
+                    connection.commit();
+                }
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.warn("Error closing cursor {} message: {}", token, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the open {@link QueryCursor}s by token.
+ * Every open cursor holds a connection, so cursors idle for longer than the idle timeout are closed
+ * by a background sweep. Once a session has more than {@code maxOpenPerSession} cursors open, its least
+ * recently used one is closed, so one client cannot close the cursors of others. {@code maxOpen} bounds
+ * the cursors of all sessions together and closes the least recently used one of any session.
+ */
+public class QueryCursorRegistry implements AutoCloseable {
+
+    private final long idleTimeoutMillis;
+    private final int maxOpen;
+    private final int maxOpenPerSession;
+    private final LinkedHashMap<String, QueryCursor> cursors = new LinkedHashMap<>(16, 0.75f, true);
+    private final ScheduledExecutorService evictor;
+
+    public QueryCursorRegistry(long idleTimeoutMillis, int maxOpen) {
+        this(idleTimeoutMillis, maxOpen, maxOpen);
+    }
+
+    /**
+     * @param maxOpenPerSession cursors one session may keep open, at most {@code maxOpen}
+     */
+    public QueryCursorRegistry(long idleTimeoutMillis, int maxOpen, int maxOpenPerSession) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxOpen = maxOpen;
+        this.maxOpenPerSession = maxOpenPerSession > 0 ? Math.min(maxOpenPerSession, maxOpen) : maxOpen;
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "query-cursor-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMillis = Math.max(1000, idleTimeoutMillis / 4);
+        evictor.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void register(QueryCursor cursor) {
+        List<QueryCursor> evicted = new ArrayList<>();
+        synchronized (cursors) {
+            cursors.put(cursor.token(), cursor);
+            long sessionCursors = cursors.values().stream()
+                .filter(open -> open.sessionId().equals(cursor.sessionId()))
+                .count();
+            Iterator<QueryCursor> sessionEldest = cursors.values().iterator();
+            while (sessionCursors > maxOpenPerSession && sessionEldest.hasNext()) {
+                QueryCursor open = sessionEldest.next();
+                if (open.sessionId().equals(cursor.sessionId())) {
+                    evicted.add(open);
+                    sessionEldest.remove();
+                    sessionCursors--;
+                }
+            }
+            Iterator<QueryCursor> eldest = cursors.values().iterator();
+            while (cursors.size() > maxOpen && eldest.hasNext()) {
+                evicted.add(eldest.next());
+                eldest.remove();
+            }
+        }
+        evicted.forEach(QueryCursor::close);
+    }
+
+    public Optional<QueryCursor> get(String token) {
+        synchronized (cursors) {
+            return Optional.ofNullable(cursors.get(token));
+        }
+    }
+
+    public void remove(String token) {
+        QueryCursor cursor;
+        synchronized (cursors) {
+            cursor = cursors.remove(token);
+        }
+        if (cursor != null) {
+            cursor.close();
+        }
+    }
+
+    public int size() {
+        synchronized (cursors) {
+            return cursors.size();
+        }
+    }
+
+    void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        List<QueryCursor> evicted = new ArrayList<>();
+        synchronized (cursors) {
+            Iterator<Map.Entry<String, QueryCursor>> it = cursors.entrySet().iterator();
+            while (it.hasNext()) {
+                QueryCursor cursor = it.next().getValue();
+                if (cursor.isClosed() || cursor.lastAccess() < cutoff) {
+                    evicted.add(cursor);
+                    it.remove();
+                }
+            }
+        }
+        evicted.forEach(QueryCursor::close);
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        List<QueryCursor> open;
+        synchronized (cursors) {
+            open = new ArrayList<>(cursors.values());
+            cursors.clear();
+        }
+        open.forEach(QueryCursor::close);
+    }
+}
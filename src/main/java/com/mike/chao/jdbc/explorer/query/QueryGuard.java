@@ -0,0 +1,188 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control and cancellation for the statements run by the query tools.
+ * At most {@code maxConcurrent} queries run at the same time, up to {@code maxQueued} more wait
+ * for a free slot and anything beyond that is rejected straight away.
+ * Every watched statement gets a query timeout. A watchdog calls {@link Statement#cancel()} on
+ * statements that overrun it, for drivers that ignore {@code setQueryTimeout}, and on statements whose
+ * calling thread has been interrupted, as {@code executeQueries} does with its queries when it stops early.
+ * The MCP SDK does not tell the server when a client abandons a call, so such a statement is only
+ * cancelled by the timeout.
+ */
+public class QueryGuard implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryGuard.class);
+
+    /** Time the driver gets to honour the query timeout itself before the watchdog cancels the statement. */
+    private static final long TIMEOUT_GRACE_MILLIS = 1000;
+
+    private final int timeoutSeconds;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Set<Execution> running = ConcurrentHashMap.newKeySet();
+    private final LongSupplier clock;
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * @param timeoutSeconds query timeout applied to every statement, 0 for no timeout
+     * @param maxConcurrent maximum number of queries running at the same time, 0 for no limit
+     * @param maxQueued maximum number of queries waiting for a free slot
+     * @param queueTimeoutMillis how long a query waits for a free slot before it is rejected
+     */
+    public QueryGuard(int timeoutSeconds, int maxConcurrent, int maxQueued, long queueTimeoutMillis) {
+        this(timeoutSeconds, maxConcurrent, maxQueued, queueTimeoutMillis, System::currentTimeMillis, 250);
+    }
+
+    QueryGuard(int timeoutSeconds, int maxConcurrent, int maxQueued, long queueTimeoutMillis, LongSupplier clock,
+            long watchIntervalMillis) {
+        this.timeoutSeconds = timeoutSeconds;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent, true) : null;
+        this.clock = clock;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "query-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (watchIntervalMillis > 0) {
+            watchdog.scheduleWithFixedDelay(this::sweep, watchIntervalMillis, watchIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static QueryGuard defaults() {
+        return new QueryGuard(60, 8, 32, 10_000);
+    }
+
+    /**
+     * Waits for a free slot and returns the execution holding it. Closing the execution releases the slot.
+     *
+     * @throws RejectedExecutionException if too many queries are already waiting or no slot frees up in time
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public Execution admit() throws InterruptedException {
+        if (permits != null && !permits.tryAcquire()) {
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                throw new RejectedExecutionException("""
+                    Too many queries are running, %d waiting. Try again later.""".formatted(maxQueued));
+            }
+            try {
+                if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("""
+                        Timed out after %d ms waiting for a free query slot. Try again later.""".formatted(queueTimeoutMillis));
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+        return new Execution(Thread.currentThread());
+    }
+
+    public int running() {
+        return running.size();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    /**
+     * Cancels the statements that overran their timeout or whose calling thread was interrupted.
+     */
+    void sweep() {
+        long now = clock.getAsLong();
+        for (Execution execution : List.copyOf(running)) {
+            if (execution.owner.isInterrupted()) {
+                execution.cancel("Query cancelled because its call was interrupted.");
+            } else if (execution.deadline > 0 && now > execution.deadline) {
+                execution.cancel("Query cancelled after exceeding the %d second timeout.".formatted(timeoutSeconds));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        for (Execution execution : List.copyOf(running)) {
+            execution.cancel("Query cancelled because the server is shutting down.");
+        }
+    }
+
+    /**
+     * A query holding one of the slots. The statement it runs is registered with {@link #watch(Statement)}.
+     */
+    public final class Execution implements AutoCloseable {
+
+        private final Thread owner;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Statement statement;
+        private volatile long deadline;
+        private volatile String cancelReason;
+
+        private Execution(Thread owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Applies the query timeout to the statement and lets the watchdog cancel it.
+         */
+        public void watch(Statement statement) throws SQLException {
+            if (timeoutSeconds > 0) {
+                statement.setQueryTimeout(timeoutSeconds);
+                deadline = clock.getAsLong() + timeoutSeconds * 1000L + TIMEOUT_GRACE_MILLIS;
+            }
+            this.statement = statement;
+            running.add(this);
+        }
+
+        /**
+         * @return why the statement was cancelled, or null if it was not
+         */
+        public String cancelReason() {
+            return cancelReason;
+        }
+
+        private synchronized void cancel(String reason) {
+            if (cancelReason != null || closed.get()) {
+                return;
+            }
+            cancelReason = reason;
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                logger.warn("Error cancelling statement message: {}", e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                running.remove(this);
+                if (permits != null) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
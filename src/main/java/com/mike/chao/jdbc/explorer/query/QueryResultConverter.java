@@ -0,0 +1,207 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializes the results of the query tools in one pass. The rows of a {@link RowBatch} are written
+ * straight from their value arrays into the {@link JsonGenerator}, into a byte buffer taken from a
+ * small pool, and the only copy made is the final string handed to the MCP client. Unlike the Spring AI
+ * default, dates and times read by {@link ColumnReader} are written as ISO-8601 strings rather than arrays
+ * of their fields or epoch millis.
+ */
+public class QueryResultConverter implements ToolCallResultConverter {
+
+    /** Buffers kept for reuse, most calls return results well below the size limit. */
+    static final int POOLED_BUFFERS = 4;
+    /** Buffers that grew beyond this many bytes for a large result are not kept. */
+    static final int MAX_POOLED_BYTES = 4 << 20;
+
+    private static final BlockingQueue<PooledBuffer> BUFFERS = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+
+    static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder(JsonFactory.builder()
+            // tools run on virtual threads, so Jackson's own buffers are pooled across threads rather than per thread
+            .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+            .build())
+        .addModule(new SimpleModule("query-results")
+            .addSerializer(new IsoTemporalSerializer())
+            .addSerializer(RowBatch.MapRows.class, new MapRowsSerializer())
+            .addSerializer(RowBatch.ArrayRows.class, new ArrayRowsSerializer())
+            .addSerializer(RowBatch.ColumnArrays.class, new ColumnArraysSerializer()))
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+        .build();
+
+    @Override
+    public String convert(Object result, Type returnType) {
+        PooledBuffer buffer = acquire();
+        try {
+            OBJECT_MAPPER.writeValue(buffer, result);
+            return buffer.toString();
+        } catch (IOException e) {
+            throw new IllegalStateException("Conversion from Object to JSON failed", e);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    private static PooledBuffer acquire() {
+        PooledBuffer buffer = BUFFERS.poll();
+        return buffer != null ? buffer : new PooledBuffer();
+    }
+
+    private static void release(PooledBuffer buffer) {
+        if (buffer.capacity() <= MAX_POOLED_BYTES) {
+            buffer.reset();
+            BUFFERS.offer(buffer);
+        }
+    }
+
+    /**
+     * Writes a value read by {@link ColumnReader}, the common types without looking up a serializer.
+     */
+    static void writeValue(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof String text) {
+            gen.writeString(text);
+        } else if (value instanceof Integer number) {
+            gen.writeNumber(number);
+        } else if (value instanceof Long number) {
+            gen.writeNumber(number);
+        } else if (value instanceof BigDecimal number) {
+            gen.writeNumber(number);
+        } else if (value instanceof Double number) {
+            gen.writeNumber(number);
+        } else if (value instanceof Boolean bool) {
+            gen.writeBoolean(bool);
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+
+    private static final class MapRowsSerializer extends StdSerializer<RowBatch.MapRows> {
+
+        private MapRowsSerializer() {
+            super(RowBatch.MapRows.class);
+        }
+
+        @Override
+        public void serialize(RowBatch.MapRows value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            String[] names = value.keys.names();
+            int[] columns = value.keys.columns();
+            gen.writeStartArray(value, value.rows.size());
+            for (Object[] row : value.rows) {
+                gen.writeStartObject();
+                for (int i = 0; i < names.length; i++) {
+                    gen.writeFieldName(names[i]);
+                    writeValue(row[columns[i]], gen, provider);
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static final class ArrayRowsSerializer extends StdSerializer<RowBatch.ArrayRows> {
+
+        private ArrayRowsSerializer() {
+            super(RowBatch.ArrayRows.class);
+        }
+
+        @Override
+        public void serialize(RowBatch.ArrayRows value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(value, value.rows.size());
+            for (Object[] row : value.rows) {
+                gen.writeStartArray(row, row.length);
+                for (Object cell : row) {
+                    writeValue(cell, gen, provider);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static final class ColumnArraysSerializer extends StdSerializer<RowBatch.ColumnArrays> {
+
+        private ColumnArraysSerializer() {
+            super(RowBatch.ColumnArrays.class);
+        }
+
+        @Override
+        public void serialize(RowBatch.ColumnArrays value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            List<Object[]> rows = value.rows;
+            gen.writeStartArray(value, value.columnCount);
+            for (int column = 0; column < value.columnCount; column++) {
+                gen.writeStartArray(null, rows.size());
+                for (Object[] row : rows) {
+                    writeValue(row[column], gen, provider);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * An {@link OutputStream} into a growable byte array that is kept and reused by later calls.
+     * Jackson writes UTF-8, so a mostly ASCII result takes one byte per character here and in the final string.
+     */
+    static final class PooledBuffer extends OutputStream {
+
+        private byte[] buffer = new byte[16384];
+        private int length;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int count) {
+            ensureCapacity(count);
+            System.arraycopy(bytes, offset, buffer, length, count);
+            length += count;
+        }
+
+        int capacity() {
+            return buffer.length;
+        }
+
+        void reset() {
+            length = 0;
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private void ensureCapacity(int count) {
+            if (length + count > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Shape of the rows returned by {@code executeQuery} and {@code fetchNextPage}.
+ */
+public enum ResultFormat {
+    /** One object per row keyed by column name. */
+    ROWS,
+    /** Column names and types once, then one positional array per row. */
+    COMPACT,
+    /** Column names and types once, then one array of values per column. */
+    COLUMNAR;
+
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Only the row format repeats the column names for every row.
+     */
+    boolean repeatsColumnNames() {
+        return this == ROWS;
+    }
+
+    public static ResultFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return ROWS;
+        }
+        return Arrays.stream(values())
+            .filter(format -> format.name().equalsIgnoreCase(value.trim()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown result format '%s', expected one of %s".formatted(
+                value, Arrays.stream(values()).map(ResultFormat::value).collect(Collectors.joining(", ")))));
+    }
+}
@@ -0,0 +1,139 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mike.chao.jdbc.explorer.data.QueryColumn;
+
+/**
+ * Reads rows from a forward only result set until it is exhausted or a row or size limit is hit.
+ * The column metadata is read once when the reader is created, along with a {@link ColumnReader}
+ * for each column. When a limit is hit the result set is left positioned on the first row that
+ * was not returned, so the next read continues from there.
+ */
+public class ResultSetReader {
+
+    public static final String TRUNCATED_BY_MAX_ROWS = "maxRows";
+    public static final String TRUNCATED_BY_MAX_BYTES = "maxBytes";
+
+    private final ResultSet rs;
+    private final List<QueryColumn> columns;
+    private final ColumnReader[] readers;
+    private final long columnNameBytes;
+    private final boolean countColumnNames;
+    private boolean positioned;
+
+    /**
+     * @param rs the result set to read from
+     * @param format the format the rows will be returned in, used to estimate their serialized size
+     */
+    public ResultSetReader(ResultSet rs, ResultFormat format) throws SQLException {
+        this(rs, format, true);
+    }
+
+    /**
+     * @param typedColumns false to read every value with {@code getObject}, for drivers such as SQLite
+     *                     whose declared column types do not constrain the values stored in the column
+     */
+    public ResultSetReader(ResultSet rs, ResultFormat format, boolean typedColumns) throws SQLException {
+        this.rs = rs;
+        ResultSetMetaData rsmd = rs.getMetaData();
+        int columnCount = rsmd.getColumnCount();
+        List<QueryColumn> columnList = new ArrayList<>(columnCount);
+        this.readers = new ColumnReader[columnCount];
+        long nameBytes = 0;
+        for (int i = 1; i <= columnCount; i++) {
+            String name = rsmd.getColumnName(i);
+            columnList.add(new QueryColumn(name, rsmd.getColumnTypeName(i)));
+            readers[i - 1] = typedColumns ? ColumnReader.forColumn(rsmd, i) : ColumnReader.OBJECT;
+            nameBytes += name.length() + 4;
+        }
+        this.columns = List.copyOf(columnList);
+        this.columnNameBytes = nameBytes;
+        this.countColumnNames = format.repeatsColumnNames();
+    }
+
+    public List<QueryColumn> columns() {
+        return columns;
+    }
+
+    /**
+     * @param maxRows maximum number of rows to read, 0 for no limit
+     * @param maxBytes approximate maximum serialized size of the rows, 0 for no limit.
+     *                 At least one row is always returned so a single large row cannot stall a cursor.
+     */
+    public RowBatch read(int maxRows, long maxBytes) throws SQLException {
+        int columnCount = columns.size();
+        List<Object[]> rows = new ArrayList<>();
+        long bytes = 0;
+        boolean onRow = positioned || rs.next();
+        while (onRow) {
+            if (maxRows > 0 && rows.size() >= maxRows) {
+                positioned = true;
+                return new RowBatch(rows, TRUNCATED_BY_MAX_ROWS, bytes);
+            }
+            Object[] row = new Object[columnCount];
+            long rowBytes = 2 + (countColumnNames ? columnNameBytes : columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = readers[i].read(rs, i + 1);
+                rowBytes += estimateSize(row[i]);
+            }
+            if (maxBytes > 0 && bytes + rowBytes > maxBytes && !rows.isEmpty()) {
+                positioned = true;
+                return new RowBatch(rows, TRUNCATED_BY_MAX_BYTES, bytes);
+            }
+            bytes += rowBytes;
+            rows.add(row);
+            onRow = rs.next();
+        }
+        positioned = false;
+        return new RowBatch(rows, null, bytes);
+    }
+
+    /**
+     * Approximate number of characters the value takes up once serialized to JSON.
+     */
+    static long estimateSize(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() + 2L;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length * 4L / 3 + 2;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return digits(((Number) value).longValue());
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? 4 : 5;
+        }
+        if (value instanceof LocalDate) {
+            return 12;
+        }
+        if (value instanceof Temporal) {
+            // an ISO-8601 time or timestamp, with a fraction of a second and an offset at most
+            return 40;
+        }
+        if (value instanceof BigDecimal decimal) {
+            // digits, leading zeros of a fraction, a sign and a decimal point, without formatting the number
+            return Math.max(decimal.precision(), decimal.scale()) + 2L;
+        }
+        return String.valueOf(value).length();
+    }
+
+    private static int digits(long value) {
+        int digits = value < 0 ? 2 : 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,213 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.mike.chao.jdbc.explorer.data.QueryColumn;
+
+/**
+ * Rows read from a result set in one go, each row holding its values in column order.
+ * The {@code to*} methods return read-only views over the rows rather than copies, so a result
+ * is held in memory once, and {@link QueryResultConverter} writes the views without going through
+ * a map or list per row.
+ *
+ * @param rows the rows that fit within the limits
+ * @param truncationReason the limit that stopped the read, or null when the result set was exhausted
+ * @param bytes approximate serialized size of the rows
+ */
+public record RowBatch(List<Object[]> rows, String truncationReason, long bytes) {
+
+    public boolean truncated() {
+        return truncationReason != null;
+    }
+
+    public List<Map<String, Object>> toMaps(List<QueryColumn> columns) {
+        return new MapRows(rows, RowKeys.of(columns));
+    }
+
+    public List<List<Object>> toRowArrays() {
+        return new ArrayRows(rows);
+    }
+
+    public List<List<Object>> toColumnArrays(int columnCount) {
+        return new ColumnArrays(rows, columnCount);
+    }
+
+    /**
+     * The keys of the rows format. A repeated column name keeps the position of its first column
+     * and the value of its last, as when the row was put into a map.
+     */
+    record RowKeys(String[] names, int[] columns) {
+
+        static RowKeys of(List<QueryColumn> columns) {
+            Map<String, Integer> lastColumn = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                lastColumn.put(columns.get(i).name(), i);
+            }
+            String[] names = lastColumn.keySet().toArray(String[]::new);
+            int[] indexes = lastColumn.values().stream().mapToInt(Integer::intValue).toArray();
+            return new RowKeys(names, indexes);
+        }
+    }
+
+    /** Every row as an object keyed by column name. */
+    static final class MapRows extends AbstractList<Map<String, Object>> implements RandomAccess {
+
+        final List<Object[]> rows;
+        final RowKeys keys;
+
+        MapRows(List<Object[]> rows, RowKeys keys) {
+            this.rows = rows;
+            this.keys = keys;
+        }
+
+        @Override
+        public Map<String, Object> get(int index) {
+            return new RowMap(rows.get(index), keys);
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+
+    private static final class RowMap extends AbstractMap<String, Object> {
+
+        private final Object[] row;
+        private final RowKeys keys;
+
+        private RowMap(Object[] row, RowKeys keys) {
+            this.row = row;
+            this.keys = keys;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int index = indexOf(key);
+            return index < 0 ? null : row[keys.columns()[index]];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.names().length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.names().length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(keys.names()[index], row[keys.columns()[index]]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.names().length;
+                }
+            };
+        }
+
+        private int indexOf(Object key) {
+            String[] names = keys.names();
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /** Every row as an array of values in column order. */
+    static final class ArrayRows extends AbstractList<List<Object>> implements RandomAccess {
+
+        final List<Object[]> rows;
+
+        ArrayRows(List<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public List<Object> get(int index) {
+            Object[] row = rows.get(index);
+            return new AbstractList<>() {
+                @Override
+                public Object get(int column) {
+                    return row[column];
+                }
+
+                @Override
+                public int size() {
+                    return row.length;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+
+    /** Every column as an array of its values in row order. */
+    static final class ColumnArrays extends AbstractList<List<Object>> implements RandomAccess {
+
+        final List<Object[]> rows;
+        final int columnCount;
+
+        ColumnArrays(List<Object[]> rows, int columnCount) {
+            this.rows = rows;
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        public List<Object> get(int column) {
+            return new AbstractList<>() {
+                @Override
+                public Object get(int row) {
+                    return rows.get(row)[column];
+                }
+
+                @Override
+                public int size() {
+                    return rows.size();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return columnCount;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A light lexical view of a SQL string that skips comments and quoted text.
+ * It is not a parser, it only answers what the first keyword is, whether the text holds
+ * more than one statement, whether a query has a keyword that writes in it and what the statement
+ * looks like without its formatting.
+ */
+public final class SqlText {
+
+    private static final Set<String> QUERY_KEYWORDS = Set.of(
+        "SELECT", "WITH", "VALUES", "TABLE", "SHOW", "EXPLAIN", "DESCRIBE", "DESC");
+    private static final Set<String> EXPLAINABLE_KEYWORDS = Set.of("SELECT", "WITH", "VALUES", "TABLE");
+    /**
+     * Keywords that make a statement starting like a query write: a data modifying WITH or delta table,
+     * SELECT INTO, SELECT FOR UPDATE, or EXPLAIN ANALYZE, which runs the statement it explains.
+     */
+    private static final Set<String> WRITE_KEYWORDS = Set.of(
+        "INSERT", "UPDATE", "DELETE", "MERGE", "INTO", "ANALYZE", "ANALYSE");
+
+    private final String sql;
+    private final String firstKeyword;
+    private final boolean multipleStatements;
+    private final String writeKeyword;
+
+    private SqlText(String sql) {
+        this.sql = sql;
+        String keyword = "";
+        boolean afterSeparator = false;
+        boolean multiple = false;
+        int i = 0;
+        int length = sql.length();
+        while (i < length && !multiple) {
+            char c = sql.charAt(i);
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                multiple = afterSeparator;
+                i = skipQuoted(c, i + 1);
+            } else if (c == ';') {
+                afterSeparator = true;
+                i++;
+            } else if (Character.isWhitespace(c) || (c == '(' && keyword.isEmpty())) {
+                i++;
+            } else if (afterSeparator) {
+                multiple = true;
+            } else if (keyword.isEmpty() && Character.isLetter(c)) {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+                keyword = sql.substring(start, i);
+            } else {
+                i++;
+            }
+        }
+        this.firstKeyword = keyword;
+        this.multipleStatements = multiple;
+        this.writeKeyword = findWriteKeyword();
+    }
+
+    private String findWriteKeyword() {
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(c, i + 1);
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')) {
+                    i++;
+                }
+                String word = sql.substring(start, i).toUpperCase(Locale.ROOT);
+                if (WRITE_KEYWORDS.contains(word)) {
+                    return word;
+                }
+            } else {
+                i++;
+            }
+        }
+        return null;
+    }
+
+    public static SqlText of(String sql) {
+        return new SqlText(sql == null ? "" : sql);
+    }
+
+    /**
+     * @return the first word of the statement as written, or an empty string if there is none
+     */
+    public String firstKeyword() {
+        return firstKeyword;
+    }
+
+    /**
+     * @return true if anything other than whitespace or comments follows a statement separator
+     */
+    public boolean hasMultipleStatements() {
+        return multipleStatements;
+    }
+
+    /**
+     * @return true if the statement starts with a keyword that only reads, such as SELECT or WITH,
+     *         and has no keyword in it that writes
+     */
+    public boolean isQuery() {
+        return startsLikeQuery() && writeKeyword == null;
+    }
+
+    boolean startsLikeQuery() {
+        return QUERY_KEYWORDS.contains(firstKeyword.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the first keyword that writes, such as DELETE in a WITH query or ANALYZE after EXPLAIN,
+     *         or null if there is none. Quoted identifiers and text do not count.
+     */
+    public String writeKeyword() {
+        return writeKeyword;
+    }
+
+    /**
+     * @return true if the statement is a query that EXPLAIN can be put in front of, unlike SHOW or EXPLAIN itself
+     */
+    public boolean isExplainable() {
+        return EXPLAINABLE_KEYWORDS.contains(firstKeyword.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the statement without comments, with each run of whitespace collapsed to one space and
+     *         trailing separators removed. Quoted text is kept as written.
+     */
+    public String normalized() {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        boolean space = false;
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+                space = true;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                space = true;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+                space = true;
+            } else {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                space = false;
+                int end = c == '\'' || c == '"' || c == '`' ? skipQuoted(c, i + 1) : i + 1;
+                normalized.append(sql, i, end);
+                i = end;
+            }
+        }
+        int end = normalized.length();
+        while (end > 0 && (normalized.charAt(end - 1) == ';' || normalized.charAt(end - 1) == ' ')) {
+            end--;
+        }
+        normalized.setLength(end);
+        return normalized.toString();
+    }
+
+    private int skipQuoted(char quote, int from) {
+        int i = from;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                // a doubled quote is an escaped quote inside the literal
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+}
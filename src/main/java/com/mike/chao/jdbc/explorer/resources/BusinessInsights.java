@@ -2,29 +2,46 @@ package com.mike.chao.jdbc.explorer.resources;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Component;
 
+import com.mike.chao.jdbc.explorer.session.McpSession;
+
+/**
+ * Business insights of each MCP session, kept for the most recently active sessions.
+ */
 @Component
 public class BusinessInsights {
 
-    private final List<String> insights;
+    static final int MAX_SESSIONS = 256;
+
+    private final Map<String, List<String>> insightsBySession;
 
     public BusinessInsights() {
-        this.insights = Collections.synchronizedList(new ArrayList<>());
+        this.insightsBySession = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > MAX_SESSIONS;
+            }
+        });
     }
 
     public void addInsight(String insight) {
         Optional.ofNullable(insight)
             .filter(i -> !i.isBlank())
-            .ifPresent(insights::add);
+            .ifPresent(i -> insightsBySession
+                .computeIfAbsent(McpSession.current(), session -> Collections.synchronizedList(new ArrayList<>()))
+                .add(i));
     }
 
     public String getInsights() {
+        List<String> insights = insightsBySession.getOrDefault(McpSession.current(), List.of());
         if (insights.isEmpty()) {
             return "No insights yet";
         }
@@ -0,0 +1,111 @@
+package com.mike.chao.jdbc.explorer.session;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+/**
+ * Identifies the MCP session a call belongs to, so per-session state such as cursors and insights
+ * stays with the client that created it when one server serves many clients over HTTP/SSE.
+ * <p>
+ * The SDK creates a new {@link McpSyncServerExchange} for every call but wraps the same
+ * {@link McpAsyncServerExchange} for every call of a session, and that exchange does not expose
+ * its session id. The wrapped exchange is therefore used as the session key and given a generated id.
+ * With STDIO there is a single session. Serving many clients over HTTP/SSE calls {@link #requireSessionIds()}
+ * at startup, so an SDK the wrapped exchange cannot be read from stops the server instead of letting all
+ * clients share one session.
+ */
+public final class McpSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpSession.class);
+
+    /** Session of calls made outside an MCP request, for example from tests or a single STDIO client. */
+    public static final String DEFAULT_ID = "default";
+
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+    private static final Map<Object, String> idsByExchange = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Field asyncExchangeField = asyncExchangeField();
+
+    private McpSession() {
+    }
+
+    /**
+     * @return the id of the session the exchange belongs to, {@link #DEFAULT_ID} if it cannot be told
+     */
+    public static String id(McpSyncServerExchange exchange) {
+        Object key = sessionKey(exchange);
+        return key == null ? DEFAULT_ID : idsByExchange.computeIfAbsent(key, k -> UUID.randomUUID().toString());
+    }
+
+    /**
+     * @throws IllegalStateException if sessions cannot be told apart with this version of the MCP SDK
+     */
+    public static void requireSessionIds() {
+        if (asyncExchangeField == null) {
+            throw new IllegalStateException("""
+                Cannot tell MCP sessions apart with this version of the MCP SDK, \
+                every client would share the cursors, insights and rate limit of one session.""");
+        }
+    }
+
+    /**
+     * @return the id of the session the current call belongs to
+     */
+    public static String current() {
+        String id = current.get();
+        return id == null ? DEFAULT_ID : id;
+    }
+
+    /**
+     * Runs the work as part of the given session, {@link #current()} returns its id until the work returns.
+     */
+    public static <T> T callAs(String sessionId, Supplier<T> work) {
+        String previous = current.get();
+        current.set(sessionId);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    private static Object sessionKey(McpSyncServerExchange exchange) {
+        if (exchange == null || asyncExchangeField == null) {
+            return null;
+        }
+        try {
+            return asyncExchangeField.get(exchange);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Field asyncExchangeField() {
+        for (Field field : McpSyncServerExchange.class.getDeclaredFields()) {
+            if (field.getType() == McpAsyncServerExchange.class) {
+                try {
+                    field.setAccessible(true);
+                    return field;
+                } catch (RuntimeException e) {
+                    logger.warn("Cannot tell MCP sessions apart, all calls share one session: {}", e.getMessage());
+                    return null;
+                }
+            }
+        }
+        logger.warn("Cannot tell MCP sessions apart, all calls share one session");
+        return null;
+    }
+}
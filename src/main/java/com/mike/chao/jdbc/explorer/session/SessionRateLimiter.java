@@ -0,0 +1,92 @@
+package com.mike.chao.jdbc.explorer.session;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Limits the tool calls of each MCP session with a token bucket, so one busy client cannot use up
+ * the connection pool the other clients share.
+ */
+public class SessionRateLimiter {
+
+    static final int MAX_SESSIONS = 1024;
+
+    private final double callsPerSecond;
+    private final int burst;
+    private final LongSupplier nanoClock;
+    private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    };
+
+    /**
+     * @param callsPerSecond the sustained calls per second allowed for a session, 0 or less for no limit
+     * @param burst the calls a session may make at once before the limit applies
+     */
+    public SessionRateLimiter(double callsPerSecond, int burst) {
+        this(callsPerSecond, burst, System::nanoTime);
+    }
+
+    SessionRateLimiter(double callsPerSecond, int burst, LongSupplier nanoClock) {
+        this.callsPerSecond = callsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+    }
+
+    public static SessionRateLimiter unlimited() {
+        return new SessionRateLimiter(0, 1);
+    }
+
+    /**
+     * Takes a call from the session's bucket.
+     *
+     * @return false if the session made too many calls and has to wait
+     */
+    public synchronized boolean tryAcquire(String sessionId) {
+        if (callsPerSecond <= 0) {
+            return true;
+        }
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.computeIfAbsent(sessionId, id -> new Bucket(burst, now));
+        bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledAt) * callsPerSecond / 1_000_000_000d);
+        bucket.refilledAt = now;
+        if (bucket.tokens < 1) {
+            return false;
+        }
+        bucket.tokens--;
+        return true;
+    }
+
+    /**
+     * Wraps a tool so it runs as part of the calling session and is refused once the session
+     * is over its rate limit.
+     */
+    public McpServerFeatures.SyncToolSpecification bind(McpServerFeatures.SyncToolSpecification spec) {
+        return new McpServerFeatures.SyncToolSpecification(spec.tool(), (exchange, args) -> {
+            String sessionId = McpSession.id(exchange);
+            if (!tryAcquire(sessionId)) {
+                return new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(String.format(
+                    "Rate limit of %s calls per second exceeded for this session. Try again later.",
+                    callsPerSecond))), true);
+            }
+            return McpSession.callAs(sessionId, () -> spec.call().apply(exchange, args));
+        });
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Estimates the number of distinct values seen in a fixed {@code 2^precision} bytes, whatever their number,
+ * with a standard error of about {@code 1.04 / sqrt(2^precision)}, 1.6% at the default precision of 12.
+ * Small counts use linear counting, which is close to exact while most registers are still empty.
+ */
+final class HyperLogLog {
+
+    static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    HyperLogLog(int precision) {
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    void add(Object value) {
+        addHash(hash(value));
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // the bits left after the index, with a marker bit so the rank stops at 64 - precision + 1
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * A 64 bit hash of a value read from a result set. Numbers that are equal hash alike whatever their
+     * Java type, as SQLite returns an Integer or a Long for the same column depending on the value.
+     */
+    static long hash(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mix(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return hashDouble(((Number) value).doubleValue());
+        }
+        if (value instanceof BigDecimal decimal) {
+            // up to 15 significant digits every decimal has a double of its own, and the usual DECIMAL(p, s) fits
+            return decimal.precision() <= 15
+                ? hashDouble(decimal.doubleValue())
+                : hashChars(decimal.stripTrailingZeros().toPlainString());
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return mix(dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano());
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return mix(dateTime.toEpochSecond() * 1_000_000_000L + dateTime.getNano());
+        }
+        if (value instanceof LocalDate date) {
+            return mix(date.toEpochDay());
+        }
+        if (value instanceof CharSequence text) {
+            return hashChars(text);
+        }
+        if (value instanceof byte[] bytes) {
+            long hash = 0xcbf29ce484222325L ^ bytes.length;
+            for (byte b : bytes) {
+                hash = (hash ^ b) * 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+        if (value instanceof Object[] array) {
+            return hashChars(Arrays.deepToString(array));
+        }
+        return hashChars(String.valueOf(value));
+    }
+
+    private static long hashDouble(double number) {
+        if (number == Math.rint(number) && Math.abs(number) < 0x1p62) {
+            return mix((long) number);
+        }
+        return mix(Double.doubleToLongBits(number));
+    }
+
+    private static long hashChars(CharSequence text) {
+        // FNV-1a over the characters, finished with the murmur3 mix so every bit depends on every character
+        long hash = 0xcbf29ce484222325L ^ text.length();
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,139 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Estimates the quantiles of a stream of numbers with the KLL sketch of Karnin, Lang and Liberty.
+ * Values are kept in a stack of compactors, each item of level {@code h} standing for {@code 2^h} values.
+ * When a level is full it is sorted and every other item, picked from a random offset, moves up a level.
+ * Capacities shrink by a factor of 2/3 towards the lower levels, so the sketch holds about {@code 3k} numbers
+ * whatever the length of the stream, with a rank error of about {@code 1.7 / k}, under 1% at the default k.
+ */
+final class KllSketch {
+
+    static final int DEFAULT_K = 200;
+    private static final double CAPACITY_RATIO = 2.0 / 3.0;
+
+    private final int k;
+    private final SplittableRandom random;
+    private double[][] levels = new double[0][];
+    private int[] lengths = new int[0];
+    private int[] capacities = new int[0];
+    private int size;
+    private int maxSize;
+
+    KllSketch() {
+        this(DEFAULT_K, 0);
+    }
+
+    /**
+     * @param seed seeds the offsets picked while compacting, so the same stream always gives the same estimates
+     */
+    KllSketch(int k, long seed) {
+        this.k = k;
+        this.random = new SplittableRandom(seed);
+        grow();
+    }
+
+    void add(double value) {
+        append(0, value);
+        size++;
+        if (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * @param ranks each between 0 and 1
+     * @return the estimated value at each rank, NaN when nothing was added
+     */
+    double[] quantiles(double... ranks) {
+        double[] estimates = new double[ranks.length];
+        if (size == 0) {
+            Arrays.fill(estimates, Double.NaN);
+            return estimates;
+        }
+        double[] items = new double[size];
+        long[] weights = new long[size];
+        Integer[] order = new Integer[size];
+        int at = 0;
+        long totalWeight = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < lengths[level]; i++) {
+                items[at] = levels[level][i];
+                weights[at] = 1L << level;
+                order[at] = at;
+                totalWeight += weights[at++];
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(items[a], items[b]));
+        for (int r = 0; r < ranks.length; r++) {
+            double target = ranks[r] * totalWeight;
+            long cumulative = 0;
+            estimates[r] = items[order[size - 1]];
+            for (int index : order) {
+                cumulative += weights[index];
+                if (cumulative >= target) {
+                    estimates[r] = items[index];
+                    break;
+                }
+            }
+        }
+        return estimates;
+    }
+
+    /**
+     * Adds a level on top. The capacities of the levels below shrink, the top one always holds k items.
+     */
+    private void grow() {
+        int count = levels.length + 1;
+        levels = Arrays.copyOf(levels, count);
+        lengths = Arrays.copyOf(lengths, count);
+        capacities = new int[count];
+        levels[count - 1] = new double[8];
+        maxSize = 0;
+        for (int level = 0; level < count; level++) {
+            int depth = count - level - 1;
+            capacities[level] = (int) Math.ceil(Math.pow(CAPACITY_RATIO, depth) * k) + 1;
+            maxSize += capacities[level];
+        }
+    }
+
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (lengths[level] >= capacities[level]) {
+                if (level + 1 >= levels.length) {
+                    grow();
+                }
+                compact(level);
+                if (size < maxSize) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the level and moves every other item up. With an odd number of items the smallest one stays.
+     */
+    private void compact(int level) {
+        double[] items = levels[level];
+        int length = lengths[level];
+        Arrays.sort(items, 0, length);
+        int kept = length % 2;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = kept; i + 1 < length; i += 2) {
+            append(level + 1, items[i + offset]);
+        }
+        lengths[level] = kept;
+        size -= (length - kept) / 2;
+    }
+
+    private void append(int level, double value) {
+        if (lengths[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], lengths[level] * 2);
+        }
+        levels[level][lengths[level]++] = value;
+    }
+}
@@ -0,0 +1,215 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mike.chao.jdbc.explorer.config.Dialect;
+import com.mike.chao.jdbc.explorer.data.QueryParameter;
+import com.mike.chao.jdbc.explorer.data.QueryPlan;
+import com.mike.chao.jdbc.explorer.data.TableStats;
+import com.mike.chao.jdbc.explorer.query.ParameterType;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+
+/**
+ * Asks the database for the plan of a query without running it and reads the estimates out of it.
+ * PostgreSQL and MySQL return their plans as JSON with a cost and a row estimate. H2 and SQLite only
+ * tell which tables are scanned in full, their row counts from {@link TableStatsReader} stand in for
+ * an estimate there.
+ */
+public final class QueryExplainer {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * A table reference in an H2 plan followed by the comment naming the index it is read with. A comment
+     * ending in {@code tableScan}, or naming an index without a condition, is a full scan.
+     */
+    private static final Pattern H2_SCAN = Pattern.compile(
+        "(?:FROM|JOIN)\\s+\"?([^\"\\s.]+)\"?\\.\"?([^\"\\s.]+)\"?(?:\\s+\"?[^\"\\s/]+\"?)?\\s+/\\*\\s*([\\w$.]+)(:[^*]*)?\\s*\\*/");
+    private static final Pattern SQLITE_SCAN = Pattern.compile("^SCAN (?:TABLE )?([^\\s(]\\S*)");
+    /** The tables of a SQLite query and their aliases, SQLite plans name a table by its alias. */
+    private static final Pattern SQLITE_TABLE_ALIAS = Pattern.compile(
+        "(?i)(?:\\bFROM|\\bJOIN|,)\\s*[\"`\\[]?([A-Za-z_][\\w$]*)[\"`\\]]?(?:\\s+(?:AS\\s+)?[\"`\\[]?([A-Za-z_][\\w$]*)[\"`\\]]?)?");
+    private static final Set<String> KEYWORDS = Set.of("FROM", "WHERE", "JOIN", "INNER", "LEFT", "RIGHT", "FULL", "CROSS",
+        "NATURAL", "ON", "USING", "GROUP", "ORDER", "LIMIT", "HAVING", "UNION", "EXCEPT", "INTERSECT", "WINDOW");
+
+    private QueryExplainer() {
+    }
+
+    public static boolean supports(Dialect dialect) {
+        return dialect != null && dialect != Dialect.ORACLE;
+    }
+
+    /**
+     * @param parameters values for the '?' placeholders of the query, or null to explain it as plain text
+     */
+    public static QueryPlan explain(Connection conn, QueryGuard.Execution execution, Dialect dialect, String query,
+            List<QueryParameter> parameters) throws SQLException {
+        String prefix = switch (dialect) {
+            case POSTGRES -> "EXPLAIN (FORMAT JSON) ";
+            case MYSQL -> "EXPLAIN FORMAT=JSON ";
+            case H2 -> "EXPLAIN ";
+            case SQLITE -> "EXPLAIN QUERY PLAN ";
+            case ORACLE -> throw new SQLFeatureNotSupportedException("Explaining queries is not supported for this database");
+        };
+        String sql = prefix + query;
+        try (Statement stmt = parameters == null ? conn.createStatement() : conn.prepareStatement(sql)) {
+            execution.watch(stmt);
+            if (stmt instanceof PreparedStatement prepared) {
+                ParameterType.bindAll(prepared, parameters);
+            }
+            try (ResultSet rs = stmt instanceof PreparedStatement prepared ? prepared.executeQuery() : stmt.executeQuery(sql)) {
+                return switch (dialect) {
+                    case POSTGRES -> postgresPlan(firstValue(rs));
+                    case MYSQL -> mySqlPlan(firstValue(rs));
+                    case H2 -> h2Plan(conn, execution, firstValue(rs));
+                    default -> sqlitePlan(conn, execution, query, rs);
+                };
+            }
+        }
+    }
+
+    static QueryPlan postgresPlan(String json) throws SQLException {
+        JsonNode root = readJson(json).path(0).path("Plan");
+        Set<String> fullScans = new LinkedHashSet<>();
+        collectPostgresScans(root, fullScans);
+        return new QueryPlan(root.path("Total Cost").asDouble(), root.path("Plan Rows").asLong(), List.copyOf(fullScans), json);
+    }
+
+    private static void collectPostgresScans(JsonNode node, Set<String> fullScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            fullScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectPostgresScans(child, fullScans);
+        }
+    }
+
+    static QueryPlan mySqlPlan(String json) throws SQLException {
+        JsonNode block = readJson(json).path("query_block");
+        Set<String> fullScans = new LinkedHashSet<>();
+        long[] rows = {-1};
+        collectMySqlTables(block, fullScans, rows);
+        JsonNode cost = block.path("cost_info").path("query_cost");
+        return new QueryPlan(cost.isMissingNode() ? null : cost.asDouble(), rows[0] < 0 ? null : rows[0],
+            List.copyOf(fullScans), json);
+    }
+
+    /**
+     * Walks every table of the plan, subqueries included. The rows a nested loop produces grow with each table
+     * joined, so the largest {@code rows_produced_per_join} is taken as the rows of the query.
+     */
+    private static void collectMySqlTables(JsonNode node, Set<String> fullScans, long[] rows) {
+        if (node.has("table_name") && node.has("access_type")) {
+            String access = node.path("access_type").asText();
+            // ALL reads the whole table and index the whole index
+            if ("ALL".equals(access) || "index".equals(access)) {
+                fullScans.add(node.path("table_name").asText());
+            }
+            rows[0] = Math.max(rows[0], node.path("rows_produced_per_join").asLong(-1));
+        }
+        for (JsonNode child : node) {
+            if (child.isContainerNode()) {
+                collectMySqlTables(child, fullScans, rows);
+            }
+        }
+    }
+
+    private static QueryPlan h2Plan(Connection conn, QueryGuard.Execution execution, String plan) throws SQLException {
+        Set<String> fullScans = new LinkedHashSet<>();
+        List<TableRef> scanned = new ArrayList<>();
+        Matcher matcher = H2_SCAN.matcher(plan);
+        while (matcher.find()) {
+            String index = matcher.group(3);
+            if (index.endsWith(".tableScan") || matcher.group(4) == null) {
+                TableRef table = new TableRef(matcher.group(1), matcher.group(2));
+                scanned.add(table);
+                fullScans.add(table.schema() + "." + table.name());
+            }
+        }
+        return new QueryPlan(null, scannedRows(conn, execution, scanned), List.copyOf(fullScans), plan);
+    }
+
+    private static QueryPlan sqlitePlan(Connection conn, QueryGuard.Execution execution, String query, ResultSet rs)
+            throws SQLException {
+        Map<String, String> tablesByAlias = new HashMap<>();
+        Matcher alias = SQLITE_TABLE_ALIAS.matcher(query);
+        while (alias.find()) {
+            String name = alias.group(2);
+            if (name != null && !KEYWORDS.contains(name.toUpperCase(Locale.ROOT))) {
+                tablesByAlias.put(name, alias.group(1));
+            }
+        }
+        StringBuilder plan = new StringBuilder();
+        Map<Integer, Integer> depths = new HashMap<>();
+        Set<String> fullScans = new LinkedHashSet<>();
+        List<TableRef> scanned = new ArrayList<>();
+        while (rs.next()) {
+            int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+            depths.put(rs.getInt("id"), depth);
+            String detail = rs.getString("detail");
+            plan.append("  ".repeat(depth)).append(detail).append('\n');
+            Matcher scan = SQLITE_SCAN.matcher(detail);
+            if (scan.find() && !"CONSTANT".equals(scan.group(1))) {
+                String table = tablesByAlias.getOrDefault(scan.group(1), scan.group(1));
+                scanned.add(new TableRef(null, table));
+                fullScans.add(table);
+            }
+        }
+        return new QueryPlan(null, scannedRows(conn, execution, scanned), List.copyOf(fullScans), plan.toString().strip());
+    }
+
+    /**
+     * @return the row counts of the scanned tables multiplied together, null when no table was scanned in full.
+     *         Names that are not tables, such as subqueries, are left out.
+     */
+    private static Long scannedRows(Connection conn, QueryGuard.Execution execution, List<TableRef> scanned)
+            throws SQLException {
+        Long rows = null;
+        Map<TableRef, Long> counts = new HashMap<>();
+        for (TableRef table : scanned) {
+            Long count = counts.get(table);
+            if (count == null) {
+                try {
+                    TableStats stats = TableStatsReader.read(conn, execution, null, table.schema(), table.name()).get(0);
+                    count = stats.estimatedRows() == null ? 0 : stats.estimatedRows();
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                counts.put(table, count);
+            }
+            rows = rows == null ? count : (count != 0 && rows > Long.MAX_VALUE / count ? Long.MAX_VALUE : rows * count);
+        }
+        return rows;
+    }
+
+    private static String firstValue(ResultSet rs) throws SQLException {
+        return rs.next() ? rs.getString(1) : "";
+    }
+
+    private static JsonNode readJson(String json) throws SQLException {
+        try {
+            return JSON.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Could not read the query plan: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private record TableRef(String schema, String name) {}
+}
@@ -0,0 +1,119 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the most frequent values of a stream with the Space-Saving algorithm, keeping {@code capacity}
+ * counters however many distinct values there are. A value not being counted replaces the one with the
+ * smallest count and takes over that count as its possible error, so every count is an upper bound and
+ * any value making up more than {@code 1 / capacity} of the stream is sure to be counted.
+ * The counters form a min-heap so both an increment and a replacement take {@code O(log capacity)},
+ * with at most one map lookup, removal and insertion.
+ */
+final class SpaceSaving {
+
+    /** A counted value, {@code count - error} of its occurrences are certain. */
+    record Counter(Object value, long count, long error) {}
+
+    private final Slot[] heap;
+    private final Map<Object, Slot> slots;
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.heap = new Slot[capacity];
+        this.slots = new HashMap<>(capacity * 2);
+    }
+
+    void add(Object value) {
+        Slot slot = slots.get(value);
+        if (slot != null) {
+            slot.count++;
+            siftDown(slot.position);
+        } else if (size < heap.length) {
+            slot = new Slot(value, size);
+            heap[size] = slot;
+            slots.put(value, slot);
+            siftUp(size++);
+        } else {
+            // the smallest counter sits at the root, the new value inherits its count as the error
+            slot = heap[0];
+            slots.remove(slot.value);
+            slot.value = value;
+            slot.error = slot.count;
+            slot.count++;
+            slots.put(value, slot);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return the counters with at least {@code minCertain} certain occurrences, most frequent first
+     */
+    List<Counter> top(int limit, long minCertain) {
+        List<Counter> counters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Slot slot = heap[i];
+            if (slot.count - slot.error >= minCertain) {
+                counters.add(new Counter(slot.value, slot.count, slot.error));
+            }
+        }
+        counters.sort(Comparator.comparingLong(Counter::count).reversed());
+        return counters.size() > limit ? List.copyOf(counters.subList(0, limit)) : List.copyOf(counters);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (heap[parent].count <= heap[position].count) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && heap[left].count < heap[smallest].count) {
+                smallest = left;
+            }
+            if (right < size && heap[right].count < heap[smallest].count) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Slot slot = heap[a];
+        heap[a] = heap[b];
+        heap[b] = slot;
+        heap[a].position = a;
+        heap[b].position = b;
+    }
+
+    /** A counter that knows its place in the heap, so moving it needs no map update. */
+    private static final class Slot {
+
+        private Object value;
+        private long count = 1;
+        private long error;
+        private int position;
+
+        private Slot(Object value, int position) {
+            this.value = value;
+            this.position = position;
+        }
+    }
+}
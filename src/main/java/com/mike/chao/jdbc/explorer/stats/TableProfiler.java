@@ -0,0 +1,153 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mike.chao.jdbc.explorer.data.ColumnDetail;
+import com.mike.chao.jdbc.explorer.data.ColumnProfile;
+import com.mike.chao.jdbc.explorer.data.QueryColumn;
+import com.mike.chao.jdbc.explorer.data.ValueCount;
+import com.mike.chao.jdbc.explorer.query.RowBatch;
+
+/**
+ * Profiles the columns of a table from its rows, read a page at a time, in a single pass.
+ * Every column keeps a {@link HyperLogLog} for its distinct values, a {@link SpaceSaving} summary of its
+ * most frequent values and, for numbers, a {@link KllSketch} of their quantiles, so the memory a profile
+ * takes depends on the number of columns and not on the number of rows.
+ */
+public final class TableProfiler {
+
+    static final int TOP_VALUES = 10;
+    /** Counters kept per column, a value in more than 1% of the rows is always among them. */
+    static final int COUNTERS = 100;
+    /** Longer text is left out of the most frequent values so the counters stay small. */
+    static final int MAX_COUNTED_LENGTH = 256;
+
+    private static final double[] RANKS = {0.05, 0.25, 0.5, 0.75, 0.95};
+    private static final String[] RANK_NAMES = {"p05", "p25", "p50", "p75", "p95"};
+
+    private final List<QueryColumn> columns;
+    private final ColumnProfiler[] profilers;
+    private long rowCount;
+
+    public TableProfiler(List<QueryColumn> columns) {
+        this.columns = columns;
+        this.profilers = new ColumnProfiler[columns.size()];
+        for (int i = 0; i < profilers.length; i++) {
+            profilers[i] = new ColumnProfiler();
+        }
+    }
+
+    public void add(RowBatch batch) {
+        for (Object[] row : batch.rows()) {
+            for (int i = 0; i < profilers.length; i++) {
+                profilers[i].add(row[i]);
+            }
+        }
+        rowCount += batch.rows().size();
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param details the columns as {@code describeTable} reports them, matched to the result columns by name
+     */
+    public List<ColumnProfile> profiles(List<ColumnDetail> details) {
+        Map<String, ColumnDetail> byName = new LinkedHashMap<>();
+        for (ColumnDetail detail : details) {
+            byName.put(detail.name(), detail);
+        }
+        List<ColumnProfile> profiles = new ArrayList<>(profilers.length);
+        for (int i = 0; i < profilers.length; i++) {
+            QueryColumn column = columns.get(i);
+            ColumnDetail detail = byName.getOrDefault(column.name(), new ColumnDetail(column.name(), column.type(), 0, true));
+            profiles.add(profilers[i].profile(detail, rowCount));
+        }
+        return List.copyOf(profiles);
+    }
+
+    private static final class ColumnProfiler {
+
+        private final HyperLogLog distinct = new HyperLogLog();
+        private final SpaceSaving frequent = new SpaceSaving(COUNTERS);
+        private KllSketch quantiles;
+        private long nulls;
+        private long values;
+        private long numbers;
+        private double sum;
+        private Object min;
+        private Object max;
+
+        void add(Object value) {
+            if (value == null) {
+                nulls++;
+                return;
+            }
+            values++;
+            distinct.add(value);
+            if (value instanceof byte[] || value instanceof Object[]) {
+                return;
+            }
+            if (!(value instanceof CharSequence text) || text.length() <= MAX_COUNTED_LENGTH) {
+                frequent.add(value);
+            }
+            if (value instanceof Number number) {
+                double d = number.doubleValue();
+                if (quantiles == null) {
+                    quantiles = new KllSketch();
+                }
+                quantiles.add(d);
+                sum += d;
+                numbers++;
+            }
+            if (min == null) {
+                min = value;
+                max = value;
+            } else if (compare(value, min) < 0) {
+                min = value;
+            } else if (compare(value, max) > 0) {
+                max = value;
+            }
+        }
+
+        ColumnProfile profile(ColumnDetail detail, long rowCount) {
+            double nullRatio = rowCount == 0 ? 0 : (double) nulls / rowCount;
+            Long distinctEstimate = values == 0 ? null : Math.min(distinct.estimate(), values);
+            // a column is numeric when all of its values are, SQLite lets a column hold text and numbers alike
+            boolean numeric = numbers > 0 && numbers == values;
+            Map<String, Double> quantileValues = null;
+            if (numeric) {
+                double[] estimates = quantiles.quantiles(RANKS);
+                quantileValues = new LinkedHashMap<>();
+                for (int i = 0; i < RANKS.length; i++) {
+                    quantileValues.put(RANK_NAMES[i], estimates[i]);
+                }
+            }
+            // a value is only listed when it was certainly seen more than once
+            List<ValueCount> topValues = frequent.top(TOP_VALUES, 2).stream()
+                .map(counter -> new ValueCount(counter.value(), counter.count()))
+                .toList();
+            return new ColumnProfile(detail, nulls, nullRatio, distinctEstimate, min, max,
+                numeric ? sum / numbers : null, quantileValues, topValues.isEmpty() ? null : topValues);
+        }
+
+        /**
+         * Orders numbers by value whatever their type and other values of the same type by their natural order.
+         * Values that cannot be ordered against each other compare as equal, so min and max stay as they are.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Object a, Object b) {
+            if (a instanceof Number x && b instanceof Number y && a.getClass() != b.getClass()) {
+                return Double.compare(x.doubleValue(), y.doubleValue());
+            }
+            if (a.getClass() == b.getClass() && a instanceof Comparable comparable) {
+                return comparable.compareTo(b);
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.mike.chao.jdbc.explorer.config.Dialect;
+import com.mike.chao.jdbc.explorer.data.TableStats;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+
+/**
+ * Works out the query that reads a random sample of a table with the cheapest method the database has.
+ * PostgreSQL and Oracle sample natively, row by row for small tables and block by block for large ones, so the
+ * pages read stay about the same however large the table grows. MySQL, SQLite and H2 have no sampling clause,
+ * so random keys between the smallest and largest value of an integer key are looked up in its index one by one
+ * and the rows found are read at the end. Gaps in the key make the row after a gap more likely to be picked.
+ * The same seed picks the same rows as long as the table does not change.
+ */
+public final class TableSampler {
+
+    /** Tables estimated larger than this are sampled by block rather than by row. */
+    static final long BLOCK_SAMPLE_ROWS = 100_000;
+    /** How many more rows than asked for a sampling clause is set to return, as its sample size varies. */
+    static final double ROW_OVERSAMPLING = 1.2;
+    static final double BLOCK_OVERSAMPLING = 2;
+    /** Key probes made for each row asked for before giving up on finding new rows. */
+    static final int PROBES_PER_ROW = 4;
+    /** The most rows sampled by key lookups, each row takes its own round trip. */
+    static final long MAX_PROBED_ROWS = 10_000;
+
+    public static final String ALL = "all";
+    public static final String ROW = "row";
+    public static final String BLOCK = "block";
+    public static final String KEY_PROBE = "key-probe";
+
+    /**
+     * @param sql the query reading the sample
+     * @param method {@code all} when the table is not larger than the sample, {@code row} or {@code block} for a
+     *               sampling clause, {@code key-probe} for random key lookups
+     * @param percent the share of the table the sampling clause reads, null for the other methods
+     */
+    public record Sample(String sql, String method, Double percent) {}
+
+    private TableSampler() {
+    }
+
+    /**
+     * @param key the integer key to probe on MySQL, SQLite and H2, a column name or a row id pseudo column
+     *            that is used as is, null on PostgreSQL and Oracle
+     * @param rows the number of rows to sample, or null to sample {@code percent} of the table
+     * @param maxRows the most rows the caller returns, no more than one over are looked up, 0 for no limit
+     */
+    public static Sample plan(Connection conn, QueryGuard.Execution execution, Dialect dialect, String catalog,
+            String schema, String tableName, String key, Integer rows, Double percent, long seed, int maxRows)
+            throws SQLException {
+        String table = dialect.qualifiedName(catalog, schema, tableName);
+        TableStats stats = TableStatsReader.read(conn, execution, catalog, schema, tableName).get(0);
+        long estimatedRows = stats.estimatedRows() == null ? 0 : Math.max(stats.estimatedRows(), 0);
+        if (rows == null && estimatedRows == 0 && dialect != Dialect.POSTGRES && dialect != Dialect.ORACLE) {
+            // the catalog can say 0 for a table filled since it was last analyzed, a share of 0 rows finds nothing
+            estimatedRows = countRows(conn, execution, table, dialect, percent);
+        }
+        long wanted = rows != null ? rows : (long) Math.ceil(percent / 100 * estimatedRows);
+        if (maxRows > 0) {
+            wanted = Math.min(wanted, maxRows + 1L);
+        }
+        if (rows != null && estimatedRows <= wanted) {
+            // the estimate may be stale, so the table can hold more rows than it says
+            return new Sample("SELECT * FROM " + table + " " + dialect.limitClause(wanted), ALL, null);
+        }
+
+        return switch (dialect) {
+            case POSTGRES, ORACLE -> {
+                boolean block = estimatedRows > BLOCK_SAMPLE_ROWS;
+                double share = percent != null
+                    ? percent
+                    : Math.min(100, 100.0 * wanted * (block ? BLOCK_OVERSAMPLING : ROW_OVERSAMPLING) / estimatedRows);
+                String clause = dialect == Dialect.POSTGRES
+                    ? "TABLESAMPLE %s (%s) REPEATABLE (%d)".formatted(block ? "SYSTEM" : "BERNOULLI", format(share), seed)
+                    // Oracle takes a seed from 0 to 4294967295
+                    : "SAMPLE%s (%s) SEED (%d)".formatted(block ? " BLOCK" : "", format(share), Math.floorMod(seed, 1L << 32));
+                String limit = rows != null ? " " + dialect.limitClause(wanted) : "";
+                yield new Sample("SELECT * FROM " + table + " " + clause + limit, block ? BLOCK : ROW, share);
+            }
+            case MYSQL, SQLITE, H2 -> {
+                if (key == null) {
+                    throw new IllegalArgumentException("""
+                        Table '%s' has no single integer primary key to sample by.""".formatted(tableName));
+                }
+                if (wanted > MAX_PROBED_ROWS) {
+                    throw new IllegalArgumentException("""
+                        Sampling %d rows of table '%s' takes a lookup per row, ask for at most %d rows \
+                        or a smaller percent.""".formatted(wanted, tableName, MAX_PROBED_ROWS));
+                }
+                TreeSet<Long> keys = probeKeys(conn, execution, dialect, table, key, wanted, seed);
+                String in = keys.isEmpty()
+                    ? "NULL"
+                    : keys.stream().map(String::valueOf).collect(Collectors.joining(", "));
+                yield new Sample("SELECT * FROM " + table + " WHERE " + key + " IN (" + in + ") ORDER BY " + key,
+                    KEY_PROBE, null);
+            }
+        };
+    }
+
+    /**
+     * Counts the rows of a table only as far as the percent of them stays within {@link #MAX_PROBED_ROWS}, past
+     * that the sample is refused anyway.
+     */
+    private static long countRows(Connection conn, QueryGuard.Execution execution, String table, Dialect dialect,
+            double percent) throws SQLException {
+        long limit = (long) Math.min(Math.ceil(MAX_PROBED_ROWS * 100 / percent) + 1, Long.MAX_VALUE);
+        return TableStatsReader.queryCount(conn, execution,
+            "SELECT COUNT(*) FROM (SELECT 1 FROM " + table + " " + dialect.limitClause(limit) + ") counted");
+    }
+
+    /**
+     * Looks up the first key at or after random points between the smallest and largest key. Each lookup
+     * is an index seek, so the cost depends on the sample size and not on the size of the table.
+     */
+    private static TreeSet<Long> probeKeys(Connection conn, QueryGuard.Execution execution, Dialect dialect,
+            String table, String key, long wanted, long seed) throws SQLException {
+        TreeSet<Long> keys = new TreeSet<>();
+        long min;
+        long max;
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT MIN(" + key + "), MAX(" + key + ") FROM " + table)) {
+            execution.watch(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                min = rs.getLong(1);
+                if (rs.wasNull()) {
+                    return keys;
+                }
+                max = rs.getLong(2);
+            }
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        String probe = "SELECT " + key + " FROM " + table + " WHERE " + key + " >= ? ORDER BY " + key + " "
+            + dialect.limitClause(1);
+        try (PreparedStatement stmt = conn.prepareStatement(probe)) {
+            execution.watch(stmt);
+            for (long attempt = 0; keys.size() < wanted && attempt < wanted * PROBES_PER_ROW; attempt++) {
+                stmt.setLong(1, randomKey(random, min, max));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        keys.add(rs.getLong(1));
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return a key from {@code min} to {@code max}, both included
+     */
+    static long randomKey(SplittableRandom random, long min, long max) {
+        if (max < Long.MAX_VALUE) {
+            return random.nextLong(min, max + 1);
+        }
+        return min > Long.MIN_VALUE ? random.nextLong(min - 1, max) + 1 : random.nextLong();
+    }
+
+    /**
+     * Whether a column type holds whole numbers that random keys can be drawn between.
+     */
+    public static boolean isIntegerType(String typeName) {
+        return typeName != null
+            && typeName.toUpperCase(Locale.ROOT).matches("(TINY|SMALL|MEDIUM|BIG)?INT(EGER)?( UNSIGNED)?|INT[248]");
+    }
+
+    /**
+     * @return the percentage without an exponent, which not every database parses
+     */
+    private static String format(double percent) {
+        return String.format(Locale.ROOT, "%.6f", percent).replaceAll("0+$", "").replaceAll("\\.$", "");
+    }
+}
@@ -0,0 +1,231 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mike.chao.jdbc.explorer.config.Dialect;
+import com.mike.chao.jdbc.explorer.data.TableStats;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+
+/**
+ * Reads the approximate size of tables from the statistics each database keeps in its catalog, so sizing
+ * a table costs a catalog lookup rather than the full scan {@code SELECT COUNT(*)} takes on PostgreSQL and InnoDB.
+ * Only a table without an estimate, one never analyzed, is counted, and only up to {@link #COUNT_LIMIT} rows.
+ * Beyond that its blocks are sampled where the database can, PostgreSQL and Oracle.
+ */
+public final class TableStatsReader {
+
+    static final long COUNT_LIMIT = 100_000;
+    /** Percentage of the blocks of a table read to estimate its rows. */
+    static final int SAMPLE_PERCENT = 1;
+
+    static final String STATISTICS = "statistics";
+    static final String COUNT = "count";
+    static final String SAMPLE = "sample";
+    static final String COUNT_LIMITED = "count-limit";
+
+    // every catalog query returns TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ROW_ESTIMATE, SIZE_BYTES, LAST_ANALYZED
+    private static final String POSTGRES_STATS = """
+        SELECT current_database() AS table_cat, n.nspname AS table_schem, c.relname AS table_name,
+               CASE WHEN c.reltuples < 0 OR (c.reltuples = 0 AND s.last_analyze IS NULL AND s.last_autoanalyze IS NULL)
+                    THEN NULL ELSE c.reltuples::bigint END AS row_estimate,
+               pg_total_relation_size(c.oid) AS size_bytes,
+               GREATEST(s.last_analyze, s.last_autoanalyze) AS last_analyzed
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        LEFT JOIN pg_stat_all_tables s ON s.relid = c.oid
+        WHERE c.relkind IN ('r', 'p', 'm')""";
+
+    // MySQL 8 caches these columns for information_schema_stats_expiry seconds, ANALYZE TABLE refreshes them
+    private static final String MYSQL_STATS = """
+        SELECT TABLE_SCHEMA AS TABLE_CAT, NULL AS TABLE_SCHEM, TABLE_NAME, TABLE_ROWS AS ROW_ESTIMATE,
+               DATA_LENGTH + INDEX_LENGTH AS SIZE_BYTES, NULL AS LAST_ANALYZED
+        FROM information_schema.TABLES
+        WHERE TABLE_TYPE = 'BASE TABLE'""";
+
+    private static final String ORACLE_STATS = """
+        SELECT NULL AS TABLE_CAT, t.OWNER AS TABLE_SCHEM, t.TABLE_NAME, t.NUM_ROWS AS ROW_ESTIMATE,
+               t.BLOCKS * ts.BLOCK_SIZE AS SIZE_BYTES, t.LAST_ANALYZED
+        FROM ALL_TABLES t
+        LEFT JOIN USER_TABLESPACES ts ON ts.TABLESPACE_NAME = t.TABLESPACE_NAME
+        WHERE t.TEMPORARY = 'N'""";
+
+    // H2 keeps an exact row count for its tables and no size or analyze time per table
+    private static final String H2_STATS = """
+        SELECT TABLE_CATALOG AS TABLE_CAT, TABLE_SCHEMA AS TABLE_SCHEM, TABLE_NAME, ROW_COUNT_ESTIMATE AS ROW_ESTIMATE,
+               NULL AS SIZE_BYTES, NULL AS LAST_ANALYZED
+        FROM INFORMATION_SCHEMA.TABLES
+        WHERE TABLE_TYPE = 'BASE TABLE'""";
+
+    private TableStatsReader() {
+    }
+
+    /**
+     * @param tableName the table to read, or null for every table of the schema
+     * @return the size of the tables, in the order of the catalog
+     */
+    public static List<TableStats> read(Connection conn, QueryGuard.Execution execution, String catalog, String schema,
+            String tableName) throws SQLException {
+        Dialect dialect = Dialect.of(conn).orElse(null);
+        if (dialect == null) {
+            throw new SQLFeatureNotSupportedException("""
+                Table statistics are not supported for %s.""".formatted(conn.getMetaData().getDatabaseProductName()));
+        }
+        List<TableStats> tables = switch (dialect) {
+            case POSTGRES -> catalogStats(conn, execution, POSTGRES_STATS,
+                schema == null ? " AND n.nspname = ANY (current_schemas(false))" : " AND n.nspname = ?", schema,
+                " AND c.relname = ?", tableName);
+            case MYSQL -> catalogStats(conn, execution, MYSQL_STATS,
+                catalog == null && schema == null ? " AND TABLE_SCHEMA = DATABASE()" : " AND TABLE_SCHEMA = ?",
+                catalog != null ? catalog : schema, " AND TABLE_NAME = ?", tableName);
+            case ORACLE -> catalogStats(conn, execution, ORACLE_STATS,
+                schema == null ? " AND t.OWNER = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')" : " AND t.OWNER = ?", schema,
+                " AND t.TABLE_NAME = ?", tableName);
+            case H2 -> catalogStats(conn, execution, H2_STATS,
+                schema == null ? " AND TABLE_SCHEMA = SCHEMA()" : " AND TABLE_SCHEMA = ?", schema,
+                " AND TABLE_NAME = ?", tableName);
+            case SQLITE -> sqliteStats(conn, execution, schema, tableName);
+        };
+        if (tableName != null && tables.isEmpty()) {
+            throw new IllegalArgumentException("""
+                Table '%s' does not exist in the database.""".formatted(tableName));
+        }
+        List<TableStats> stats = new ArrayList<>(tables.size());
+        for (TableStats table : tables) {
+            stats.add(table.estimatedRows() != null ? table : countRows(conn, execution, dialect, table));
+        }
+        return List.copyOf(stats);
+    }
+
+    private static List<TableStats> catalogStats(Connection conn, QueryGuard.Execution execution, String query,
+            String schemaFilter, String schema, String tableFilter, String tableName) throws SQLException {
+        String sql = query + schemaFilter + (tableName == null ? "" : tableFilter);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            execution.watch(stmt);
+            int index = 1;
+            if (schemaFilter.contains("?")) {
+                stmt.setString(index++, schema);
+            }
+            if (tableName != null) {
+                stmt.setString(index, tableName);
+            }
+            List<TableStats> tables = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long rows = rs.getLong("ROW_ESTIMATE");
+                    Long estimatedRows = rs.wasNull() ? null : rows;
+                    long bytes = rs.getLong("SIZE_BYTES");
+                    Long sizeBytes = rs.wasNull() ? null : bytes;
+                    Timestamp lastAnalyzed = rs.getTimestamp("LAST_ANALYZED");
+                    tables.add(new TableStats(rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"),
+                        rs.getString("TABLE_NAME"), estimatedRows, sizeBytes,
+                        lastAnalyzed == null ? null : lastAnalyzed.toInstant().toString(),
+                        estimatedRows == null ? null : STATISTICS));
+                }
+            }
+            return tables;
+        }
+    }
+
+    /**
+     * SQLite only has row counts once ANALYZE has filled {@code sqlite_stat1}, where the first number of every
+     * row of a table, for the table itself or one of its indexes, is the number of rows in the table.
+     */
+    private static List<TableStats> sqliteStats(Connection conn, QueryGuard.Execution execution, String schema,
+            String tableName) throws SQLException {
+        String prefix = schema == null ? "" : Dialect.SQLITE.quote(schema) + ".";
+        List<String> names = new ArrayList<>();
+        String tables = "SELECT name FROM " + prefix + "sqlite_master WHERE type = 'table'"
+            + (tableName == null ? "" : " AND name = ?");
+        try (PreparedStatement stmt = conn.prepareStatement(tables)) {
+            execution.watch(stmt);
+            if (tableName != null) {
+                stmt.setString(1, tableName);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    if (!name.startsWith("sqlite_")) {
+                        names.add(name);
+                    }
+                }
+            }
+        }
+
+        Map<String, Long> rows = new HashMap<>();
+        if (!names.isEmpty() && hasTable(conn, execution, prefix, "sqlite_stat1")) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT tbl, stat FROM " + prefix + "sqlite_stat1")) {
+                execution.watch(stmt);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String stat = rs.getString(2);
+                        int end = stat.indexOf(' ');
+                        rows.merge(rs.getString(1), Long.parseLong(end < 0 ? stat : stat.substring(0, end)), Math::max);
+                    }
+                }
+            }
+        }
+
+        List<TableStats> stats = new ArrayList<>(names.size());
+        for (String name : names) {
+            Long estimatedRows = rows.get(name);
+            stats.add(new TableStats(null, schema, name, estimatedRows, null, null,
+                estimatedRows == null ? null : STATISTICS));
+        }
+        return stats;
+    }
+
+    private static boolean hasTable(Connection conn, QueryGuard.Execution execution, String prefix, String name)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT 1 FROM " + prefix + "sqlite_master WHERE type = 'table' AND name = ?")) {
+            execution.watch(stmt);
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Counts the rows of a table without statistics, stopping after {@link #COUNT_LIMIT} rows so a large table
+     * is not scanned to the end. A larger table is sampled if the database can read a share of its blocks.
+     */
+    private static TableStats countRows(Connection conn, QueryGuard.Execution execution, Dialect dialect,
+            TableStats table) throws SQLException {
+        String name = dialect.qualifiedName(table.catalog(), table.schema(), table.tableName());
+        long counted = queryCount(conn, execution,
+            "SELECT COUNT(*) FROM (SELECT 1 FROM " + name + " " + dialect.limitClause(COUNT_LIMIT + 1) + ") counted");
+        if (counted <= COUNT_LIMIT) {
+            return table.withRows(counted, COUNT);
+        }
+        String sampleClause = switch (dialect) {
+            case POSTGRES -> "TABLESAMPLE SYSTEM (" + SAMPLE_PERCENT + ")";
+            case ORACLE -> "SAMPLE BLOCK (" + SAMPLE_PERCENT + ")";
+            default -> null;
+        };
+        if (sampleClause == null) {
+            return table.withRows(COUNT_LIMIT, COUNT_LIMITED);
+        }
+        long sampled = queryCount(conn, execution, "SELECT COUNT(*) FROM " + name + " " + sampleClause);
+        return table.withRows(Math.max(sampled * 100 / SAMPLE_PERCENT, counted), SAMPLE);
+    }
+
+    static long queryCount(Connection conn, QueryGuard.Execution execution, String sql) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            execution.watch(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
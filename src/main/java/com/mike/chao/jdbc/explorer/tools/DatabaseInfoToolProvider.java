@@ -5,12 +5,15 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mike.chao.jdbc.explorer.metrics.ToolMetrics;
 
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
@@ -29,10 +32,24 @@ public class DatabaseInfoToolProvider {
 
     private final DataSource dataSource;
     private final ObjectMapper objectMapper;
+    private final ToolMetrics toolMetrics;
+
+    /**
+     * The serialized {@link DatabaseInfo}. It does not change for a given connection target,
+     * so it is computed on the first call and reused until a call asks for a refresh.
+     */
+    private volatile String databaseInfoJson;
+
+    private static final String REFRESH_ARG_KEY = "refresh";
 
     private static final McpSchema.JsonSchema inputSchema = new McpSchema.JsonSchema(
             "object", 
-            Map.of(), 
+            Map.of(
+                REFRESH_ARG_KEY, Map.of(
+                    "type", "boolean",
+                    "description", "Set to true to read the information from the database again instead of using the cached copy"
+                )
+            ), 
             List.of(), 
             false
     );
@@ -49,8 +66,14 @@ public class DatabaseInfoToolProvider {
     ) {}
 
     public DatabaseInfoToolProvider(DataSource dataSource, ObjectMapper objectMapper) {
+        this(dataSource, objectMapper, null);
+    }
+
+    @Autowired
+    public DatabaseInfoToolProvider(DataSource dataSource, ObjectMapper objectMapper, ToolMetrics toolMetrics) {
         this.dataSource = dataSource;
         this.objectMapper = objectMapper;
+        this.toolMetrics = Objects.requireNonNullElseGet(toolMetrics, ToolMetrics::simple);
     }
 
     /**
@@ -73,10 +96,11 @@ public class DatabaseInfoToolProvider {
 
     /**
      * Handles calls to the getDatabaseInfo tool.
-     * Retrieves database metadata and formats it as a JSON response.
+     * Returns the cached database metadata as JSON, reading it from the database on the first call
+     * or when the {@code refresh} argument is true.
      *
      * @param exchange The MCP server exchange for communication
-     * @param args Tool arguments (empty for this tool)
+     * @param args Tool arguments, optionally {@code refresh}
      * @return The result containing database information as JSON
      */
     private McpSchema.CallToolResult handleGetDatabaseInfo(McpSyncServerExchange exchange, Map<String, Object> args) {
@@ -84,13 +108,20 @@ public class DatabaseInfoToolProvider {
             .data("Getting database info...")
             .level(LoggingLevel.INFO)
             .build());
+        String cachedJson = databaseInfoJson;
+        boolean refresh = args != null && Boolean.parseBoolean(String.valueOf(args.get(REFRESH_ARG_KEY)));
+        if (cachedJson != null && !refresh) {
+            return new McpSchema.CallToolResult(List.of(new TextContent(cachedJson)), false);
+        }
         try (var conn = dataSource.getConnection()) {
             var metaData = conn.getMetaData();    
             var dbInfo = collectDatabaseMetaData(metaData);
 
             var json = objectMapper.writeValueAsString(dbInfo);
+            databaseInfoJson = json;
             return new McpSchema.CallToolResult(List.of(new TextContent(json)), false); 
         } catch (Exception e) {
+            toolMetrics.recordError("getDatabaseInfo", e);
             if (e instanceof SQLException sqlException) {
                 // Special handling for SQL exceptions
                 exchange.loggingNotification(LoggingMessageNotification.builder()
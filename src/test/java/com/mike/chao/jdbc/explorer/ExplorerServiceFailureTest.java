@@ -76,6 +76,7 @@ class ExplorerServiceFailureTest {
         });
 
         assertEquals(sqlEx, ex.getCause());
+        assertEquals("executeQuery", ex.getToolDefinition().name());
         verify(mockLogger).error(
             eq("Error executing query: {} message: {}"),
             eq(query),
@@ -84,6 +85,15 @@ class ExplorerServiceFailureTest {
         );
     }
 
+    @Test
+    void testGetToolCallbacks_resolvedOnce() {
+        var toolCallbacks = explorerService.getToolCallbacks();
+
+        assertSame(toolCallbacks, explorerService.getToolCallbacks());
+        assertTrue(toolCallbacks.stream().anyMatch(callback -> callback.getToolDefinition().name().equals("executeQuery")));
+        assertThrows(UnsupportedOperationException.class, () -> toolCallbacks.clear());
+    }
+
     // --- getTableNames Tests ---
 
     @Test
@@ -96,6 +106,7 @@ class ExplorerServiceFailureTest {
         });
 
         assertEquals(sqlEx, ex.getCause());
+        assertEquals("getTableNames", ex.getToolDefinition().name());
         verify(mockLogger).error(
             eq("Error getTableNames message: {}"),
             eq(sqlEx.getMessage()), 
@@ -175,4 +186,82 @@ class ExplorerServiceFailureTest {
         List<IndexDetail> indexes = tableInfo.indexes();
         assertTrue(indexes.isEmpty(), "Indexes list should be empty when column name is null"); // Should be filtered out
     }
-}
\ No newline at end of file
+
+    // --- describeSchema Tests ---
+
+    @Test
+    void testDescribeSchema_usesBulkMetadataQueriesWhenSupported() throws SQLException {
+        ResultSet tables = mock(ResultSet.class);
+        when(mockDatabaseMetaData.getTables(null, "app", "%", new String[]{"TABLE"})).thenReturn(tables);
+        when(tables.next()).thenReturn(true).thenReturn(false);
+        when(tables.getString("TABLE_CAT")).thenReturn("db");
+        when(tables.getString("TABLE_SCHEM")).thenReturn("app");
+        when(tables.getString("TABLE_NAME")).thenReturn("orders");
+
+        when(mockDatabaseMetaData.getColumns(null, "app", "%", null)).thenReturn(mock(ResultSet.class));
+        ResultSet primaryKeys = mock(ResultSet.class);
+        when(mockDatabaseMetaData.getPrimaryKeys(null, "app", null)).thenReturn(primaryKeys);
+        when(primaryKeys.next()).thenReturn(true).thenReturn(false);
+        when(primaryKeys.getString("TABLE_CAT")).thenReturn("db");
+        when(primaryKeys.getString("TABLE_SCHEM")).thenReturn("app");
+        when(primaryKeys.getString("TABLE_NAME")).thenReturn("orders");
+        when(primaryKeys.getString("COLUMN_NAME")).thenReturn("id");
+        when(mockDatabaseMetaData.getImportedKeys(null, "app", null)).thenThrow(new SQLException("Table not specified"));
+        when(mockDatabaseMetaData.getImportedKeys("db", "app", "orders")).thenReturn(mock(ResultSet.class));
+        when(mockDatabaseMetaData.getIndexInfo(null, "app", null, false, true)).thenReturn(mock(ResultSet.class));
+
+        List<TableDetails> details = explorerService.describeSchema(null, "app");
+
+        assertEquals(1, details.size());
+        assertEquals("orders", details.get(0).tableName());
+        assertEquals(List.of("id"), details.get(0).primaryKeyColumns());
+        verify(mockDatabaseMetaData, never()).getPrimaryKeys("db", "app", "orders");
+        verify(mockDatabaseMetaData).getImportedKeys("db", "app", "orders"); // fell back to one call per table
+        // no indexes is an answer, not a reason to ask again table by table
+        verify(mockDatabaseMetaData, never()).getIndexInfo("db", "app", "orders", false, true);
+        assertEquals(List.of(), details.get(0).indexes());
+    }
+
+    @Test
+    void testDescribeSchema_oracleFetchesKeysOneTableAtATime() throws SQLException {
+        when(mockDatabaseMetaData.getURL()).thenReturn("jdbc:oracle:thin:@localhost:1521/app");
+        ResultSet tables = mock(ResultSet.class);
+        when(mockDatabaseMetaData.getTables(null, "APP", "%", new String[]{"TABLE"})).thenReturn(tables);
+        when(tables.next()).thenReturn(true).thenReturn(false);
+        when(tables.getString("TABLE_CAT")).thenReturn("APP_DB");
+        when(tables.getString("TABLE_SCHEM")).thenReturn("APP");
+        when(tables.getString("TABLE_NAME")).thenReturn("ORDERS");
+        when(mockDatabaseMetaData.getColumns(null, "APP", "%", null)).thenReturn(mock(ResultSet.class));
+        ResultSet primaryKeys = mock(ResultSet.class);
+        when(mockDatabaseMetaData.getPrimaryKeys("APP_DB", "APP", "ORDERS")).thenReturn(primaryKeys);
+        when(primaryKeys.next()).thenReturn(true).thenReturn(false);
+        when(primaryKeys.getString("COLUMN_NAME")).thenReturn("ID");
+        when(mockDatabaseMetaData.getImportedKeys("APP_DB", "APP", "ORDERS")).thenReturn(mock(ResultSet.class));
+        when(mockDatabaseMetaData.getIndexInfo("APP_DB", "APP", "ORDERS", false, true)).thenReturn(mock(ResultSet.class));
+
+        List<TableDetails> details = explorerService.describeSchema(null, "APP");
+
+        assertEquals(List.of("ID"), details.get(0).primaryKeyColumns());
+        // a null table name matches nothing on Oracle, so the bulk calls are never made
+        verify(mockDatabaseMetaData, never()).getPrimaryKeys(null, "APP", null);
+        verify(mockDatabaseMetaData, never()).getIndexInfo(null, "APP", null, false, true);
+    }
+
+    @Test
+    void testDescribeSchema_sqlException() throws SQLException {
+        SQLException sqlEx = new SQLException("Schema not found");
+        when(mockDatabaseMetaData.getTables(null, "missing", "%", new String[]{"TABLE"})).thenThrow(sqlEx);
+
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class, () -> {
+            explorerService.describeSchema(null, "missing");
+        });
+
+        assertEquals(sqlEx, ex.getCause());
+        verify(mockLogger).error(
+            eq("Error describeSchema for {} message: {}"),
+            eq("missing"),
+            eq(sqlEx.getMessage()),
+            eq(sqlEx));
+        verify(mockConnection, times(1)).close();
+    }
+}
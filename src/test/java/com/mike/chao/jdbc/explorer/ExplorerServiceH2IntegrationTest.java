@@ -6,13 +6,36 @@ import org.junit.jupiter.api.BeforeAll;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.execution.ToolExecutionException;
 
+import com.mike.chao.jdbc.explorer.cache.ResultCache;
+import com.mike.chao.jdbc.explorer.cache.SchemaCache;
+import com.mike.chao.jdbc.explorer.config.QueryBudget;
+import com.mike.chao.jdbc.explorer.config.QuerySettings;
 import com.mike.chao.jdbc.explorer.data.ColumnDetail;
+import com.mike.chao.jdbc.explorer.data.ColumnProfile;
 import com.mike.chao.jdbc.explorer.data.ForeignKeyDetail;
 import com.mike.chao.jdbc.explorer.data.IndexDetail;
+import com.mike.chao.jdbc.explorer.data.QueryColumn;
+import com.mike.chao.jdbc.explorer.data.QueryOutcome;
+import com.mike.chao.jdbc.explorer.data.QueryParameter;
+import com.mike.chao.jdbc.explorer.data.QueryPlan;
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+import com.mike.chao.jdbc.explorer.data.SchemaCacheStatus;
 import com.mike.chao.jdbc.explorer.data.TableDetails;
 import com.mike.chao.jdbc.explorer.data.TableInfo;
-
+import com.mike.chao.jdbc.explorer.data.TableProfile;
+import com.mike.chao.jdbc.explorer.data.TableSample;
+import com.mike.chao.jdbc.explorer.data.TableStats;
+import com.mike.chao.jdbc.explorer.data.ValueCount;
+import com.mike.chao.jdbc.explorer.query.ExecutionMode;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+import com.mike.chao.jdbc.explorer.session.McpSession;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -21,6 +44,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,7 +101,7 @@ class ExplorerServiceH2IntegrationTest {
                          "(102, 2, '" + Timestamp.valueOf(LocalDateTime.now().minusDays(1)) + "', 75.00), " +
                          "(103, 1, '" + Timestamp.valueOf(LocalDateTime.now().minusHours(5)) + "', 30.25)");
         }
-        explorerService = new ExplorerService(h2DataSource);
+        explorerService = ExplorerService.builder(h2DataSource).build();
     }
 
     @AfterAll
@@ -93,21 +118,394 @@ class ExplorerServiceH2IntegrationTest {
 
     @Test
     void testExecuteQuery_success() {
-        List<Map<String, Object>> results = explorerService.executeQuery("SELECT \"UserID\", \"Username\", \"Email\" FROM \"Users\" WHERE \"Username\" = 'AliceSmith'");
-        assertNotNull(results);
+        QueryResult result = explorerService.executeQuery("SELECT \"UserID\", \"Username\", \"Email\" FROM \"Users\" WHERE \"Username\" = 'AliceSmith'");
+        assertNotNull(result);
+        assertFalse(result.truncated());
+        List<Map<String, Object>> results = result.rows();
         assertEquals(1, results.size());
         Map<String, Object> alice = results.get(0);
         assertEquals(1, alice.get("UserID"));
         assertEquals("AliceSmith", alice.get("Username"));
         assertEquals("alice.smith@example.com", alice.get("Email"));
 
-        List<Map<String, Object>> allUsers = explorerService.executeQuery("SELECT * FROM \"Users\" ORDER BY \"UserID\"");
+        List<Map<String, Object>> allUsers = explorerService.executeQuery("SELECT * FROM \"Users\" ORDER BY \"UserID\"").rows();
         assertNotNull(allUsers);
         assertEquals(3, allUsers.size());
         assertNull(allUsers.get(2).get("Email")); // CharlieBrown has null email
         assertEquals(0, allUsers.get(2).get("Points")); // CharlieBrown has 0 points (default)
     }
 
+    @Test
+    void testExecuteQuery_toolCallWritesTimestampsAsIsoStrings() {
+        ToolCallback executeQuery = explorerService.getToolCallbacks().stream()
+            .filter(callback -> callback.getToolDefinition().name().equals("executeQuery"))
+            .findFirst()
+            .orElseThrow();
+
+        String json = executeQuery.call("""
+            {"query": "SELECT TIMESTAMP '2024-01-31 13:45:30' AS \\"At\\", DATE '2024-01-31' AS \\"On\\""}""");
+
+        assertTrue(json.contains("\"At\":\"2024-01-31T13:45:30\""), json);
+        assertTrue(json.contains("\"On\":\"2024-01-31\""), json);
+    }
+
+    @Test
+    void testExecuteQuery_truncatedByMaxRows() {
+        ExplorerService limitedService = ExplorerService.builder(h2DataSource)
+            .querySettings(new QuerySettings(1, 2, 0, 300_000, 4)).build();
+        QueryResult result = limitedService.executeQuery("SELECT * FROM \"Users\" ORDER BY \"UserID\"");
+        assertTrue(result.truncated());
+        assertEquals("maxRows", result.truncationReason());
+        assertEquals(2, result.rowCount());
+        assertEquals(2, result.rows().size());
+        assertEquals("BobJohnson", result.rows().get(1).get("Username"));
+    }
+
+    @Test
+    void testExecuteQuery_truncatedByMaxBytes() {
+        ExplorerService limitedService = ExplorerService.builder(h2DataSource)
+            .querySettings(new QuerySettings(1, 0, 40, 300_000, 4)).build();
+        QueryResult result = limitedService.executeQuery("SELECT \"Username\" FROM \"Users\" ORDER BY \"UserID\"");
+        assertTrue(result.truncated());
+        assertEquals("maxBytes", result.truncationReason());
+        assertEquals(1, result.rowCount());
+        assertEquals("AliceSmith", result.rows().get(0).get("Username"));
+    }
+
+    @Test
+    void testExecuteQuery_exactlyMaxRowsIsNotTruncated() {
+        ExplorerService limitedService = ExplorerService.builder(h2DataSource)
+            .querySettings(new QuerySettings(1, 3, 0, 300_000, 4)).build();
+        QueryResult result = limitedService.executeQuery("SELECT * FROM \"Users\"");
+        assertFalse(result.truncated());
+        assertNull(result.truncationReason());
+        assertEquals(3, result.rowCount());
+    }
+
+    @Test
+    void testExecuteQuery_cursorPagesThroughResult() {
+        QueryResult firstPage = explorerService.executeQuery("SELECT \"Username\" FROM \"Users\" ORDER BY \"UserID\"", 2, null);
+        assertTrue(firstPage.truncated());
+        assertNotNull(firstPage.cursor());
+        assertEquals(List.of("AliceSmith", "BobJohnson"), firstPage.rows().stream().map(r -> r.get("Username")).toList());
+
+        QueryResult secondPage = explorerService.fetchNextPage(firstPage.cursor(), 2);
+        assertFalse(secondPage.truncated());
+        assertNull(secondPage.cursor());
+        assertEquals(1, secondPage.rowCount());
+        assertEquals("CharlieBrown", secondPage.rows().get(0).get("Username"));
+
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> explorerService.fetchNextPage(firstPage.cursor(), 2));
+        assertTrue(ex.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testExecuteQuery_cursorReleasesTheOnlyPooledConnection() {
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(h2DataSource);
+        config.setMaximumPoolSize(1);
+        config.setConnectionTimeout(250);
+        try (HikariDataSource pool = new HikariDataSource(config)) {
+            ExplorerService pooledService = ExplorerService.builder(pool).build();
+            QueryResult firstPage = pooledService.executeQuery("SELECT \"Username\" FROM \"Users\" ORDER BY \"UserID\"", 1, null);
+            assertNotNull(firstPage.cursor());
+
+            // the cursor does not hold the connection, so other calls do not wait for it
+            assertEquals(3, pooledService.executeQuery("SELECT * FROM \"Users\"", null, null).rowCount());
+
+            QueryResult secondPage = pooledService.fetchNextPage(firstPage.cursor(), 1);
+            assertEquals("BobJohnson", secondPage.rows().get(0).get("Username"));
+            QueryResult lastPage = pooledService.fetchNextPage(secondPage.cursor(), 5);
+            assertEquals("CharlieBrown", lastPage.rows().get(0).get("Username"));
+            assertFalse(lastPage.truncated());
+            assertNull(lastPage.cursor());
+        }
+    }
+
+    @Test
+    void testExecuteQuery_sseProfilePoolOutlastsOpenCursors() throws IOException {
+        Properties sse = new Properties();
+        try (var in = getClass().getResourceAsStream("/application-sse.properties")) {
+            sse.load(in);
+        }
+        int maxOpen = Integer.parseInt(sse.getProperty("db.cursor.max-open"));
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(h2DataSource);
+        config.setMaximumPoolSize(Integer.parseInt(sse.getProperty("db.pool.max-size")));
+        config.setConnectionTimeout(250);
+        try (HikariDataSource pool = new HikariDataSource(config)) {
+            ExplorerService pooledService = ExplorerService.builder(pool)
+                .querySettings(new QuerySettings(1, 10_000, 0, 300_000, maxOpen)).build();
+            for (int i = 0; i < maxOpen; i++) {
+                QueryResult page = McpSession.callAs("session-a",
+                    () -> pooledService.executeQuery("SELECT \"UserID\" FROM \"Users\"", 1, null));
+                assertNotNull(page.cursor());
+            }
+
+            // with every cursor open, another session still gets a connection
+            QueryResult other = McpSession.callAs("session-b",
+                () -> pooledService.executeQuery("SELECT COUNT(*) FROM \"Users\"", null, null));
+            assertEquals(1, other.rowCount());
+        }
+    }
+
+    @Test
+    void testFetchNextPage_cursorOfAnotherSessionIsNotFound() {
+        QueryResult firstPage = McpSession.callAs("session-a",
+            () -> explorerService.executeQuery("SELECT \"Username\" FROM \"Users\" ORDER BY \"UserID\"", 2, null));
+
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> McpSession.callAs("session-b", () -> explorerService.fetchNextPage(firstPage.cursor(), 2)));
+        assertTrue(ex.getCause() instanceof IllegalArgumentException);
+
+        QueryResult secondPage = McpSession.callAs("session-a", () -> explorerService.fetchNextPage(firstPage.cursor(), 2));
+        assertEquals("CharlieBrown", secondPage.rows().get(0).get("Username"));
+    }
+
+    @Test
+    void testExecuteQuery_pageSizeLargerThanResultReturnsNoCursor() {
+        QueryResult result = explorerService.executeQuery("SELECT * FROM \"Users\"", 10, null);
+        assertFalse(result.truncated());
+        assertNull(result.cursor());
+        assertEquals(3, result.rowCount());
+    }
+
+    @Test
+    void testExecuteQuery_compactFormatListsColumnsOnce() {
+        QueryResult result = explorerService.executeQuery(
+            "SELECT \"UserID\", \"Username\" FROM \"Users\" ORDER BY \"UserID\"", null, "compact");
+        assertEquals("compact", result.format());
+        assertNull(result.rows());
+        assertEquals(List.of(new QueryColumn("UserID", "INTEGER"), new QueryColumn("Username", "CHARACTER VARYING")), result.columns());
+        assertEquals(3, result.data().size());
+        assertEquals(List.of(1, "AliceSmith"), result.data().get(0));
+        assertEquals(List.of(3, "CharlieBrown"), result.data().get(2));
+    }
+
+    @Test
+    void testExecuteQuery_columnarFormatReturnsValuesPerColumn() {
+        QueryResult result = explorerService.executeQuery(
+            "SELECT \"UserID\", \"Username\" FROM \"Users\" ORDER BY \"UserID\"", null, "COLUMNAR");
+        assertEquals("columnar", result.format());
+        assertEquals(2, result.columns().size());
+        assertEquals(3, result.rowCount());
+        assertEquals(List.of(1, 2, 3), result.data().get(0));
+        assertEquals(List.of("AliceSmith", "BobJohnson", "CharlieBrown"), result.data().get(1));
+    }
+
+    @Test
+    void testExecuteQuery_cursorKeepsFormat() {
+        QueryResult firstPage = explorerService.executeQuery(
+            "SELECT \"Username\" FROM \"Users\" ORDER BY \"UserID\"", 1, "compact");
+        QueryResult secondPage = explorerService.fetchNextPage(firstPage.cursor(), 1);
+        assertEquals("compact", secondPage.format());
+        assertEquals(List.of(new QueryColumn("Username", "CHARACTER VARYING")), secondPage.columns());
+        assertEquals(List.of(List.of("BobJohnson")), secondPage.data());
+        explorerService.fetchNextPage(secondPage.cursor(), 5);
+    }
+
+    @Test
+    void testExecuteQuery_unknownFormat() {
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> explorerService.executeQuery("SELECT 1", null, "xml"));
+        assertEquals("Unknown result format 'xml', expected one of rows, compact, columnar", ex.getCause().getMessage());
+    }
+
+    @Test
+    void testExecuteQuery_rejectedWhenQuerySlotsAreBusy() throws InterruptedException {
+        QueryGuard queryGuard = new QueryGuard(30, 1, 0, 0);
+        ExplorerService guardedService = ExplorerService.builder(h2DataSource).queryGuard(queryGuard).build();
+        try (var running = queryGuard.admit()) {
+            ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+                () -> guardedService.executeQuery("SELECT 1"));
+            assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+        }
+        assertEquals(1, guardedService.executeQuery("SELECT 1").rowCount());
+        queryGuard.close();
+    }
+
+    @Test
+    void testExecuteQueries_returnsOutcomeOfEachQueryByIndex() {
+        List<QueryOutcome> outcomes = explorerService.executeQueries(List.of(
+            "SELECT COUNT(*) AS \"Total\" FROM \"Users\"",
+            "SELECT * FROM \"NoSuchTable\"",
+            "SELECT \"OrderID\" FROM \"Orders\""), "compact");
+
+        assertEquals(3, outcomes.size());
+        assertEquals(List.of(0, 1, 2), outcomes.stream().map(QueryOutcome::index).toList());
+        assertEquals(3L, ((Number) outcomes.get(0).result().data().get(0).get(0)).longValue());
+        assertNull(outcomes.get(0).error());
+        assertNull(outcomes.get(1).result());
+        assertTrue(outcomes.get(1).error().contains("NoSuchTable"));
+        assertEquals(3, outcomes.get(2).result().rowCount());
+        assertEquals("compact", outcomes.get(2).result().format());
+        assertTrue(outcomes.stream().allMatch(outcome -> outcome.elapsedMillis() >= 0));
+    }
+
+    @Test
+    void testExecuteQueries_rejectedQueriesAreReportedPerQuery() throws InterruptedException {
+        QueryGuard queryGuard = new QueryGuard(30, 1, 0, 0);
+        ExplorerService guardedService = ExplorerService.builder(h2DataSource).queryGuard(queryGuard).build();
+        try (var running = queryGuard.admit()) {
+            List<QueryOutcome> outcomes = guardedService.executeQueries(List.of("SELECT 1", "SELECT 2"), null);
+            assertTrue(outcomes.stream().allMatch(outcome -> outcome.error().startsWith("Too many queries are running")));
+        }
+        queryGuard.close();
+    }
+
+    @Test
+    void testExecuteQueries_refusedAfterClose() {
+        ExplorerService closedService = ExplorerService.builder(h2DataSource).build();
+        closedService.close();
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> closedService.executeQueries(List.of("SELECT 1"), null));
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+    }
+
+    @Test
+    void testExecuteQueries_requiresQueries() {
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> explorerService.executeQueries(List.of(), null));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+    }
+
+    @Test
+    void testExecuteParameterizedQuery_bindsTypedParameters() {
+        QueryResult result = explorerService.executeParameterizedQuery(
+            "SELECT \"Username\" FROM \"Users\" WHERE \"Points\" >= ? AND \"Username\" <> ? AND \"RegistrationDate\" > ?",
+            List.of(new QueryParameter("integer", "75"), new QueryParameter("string", "BobJohnson"),
+                new QueryParameter("timestamp", LocalDateTime.now().minusYears(1).toString())), null, "compact");
+
+        assertEquals(1, result.rowCount());
+        assertEquals("AliceSmith", result.data().get(0).get(0));
+    }
+
+    @Test
+    void testExecuteParameterizedQuery_nullValueAndCursor() {
+        QueryResult nullMatch = explorerService.executeParameterizedQuery(
+            "SELECT * FROM \"Users\" WHERE \"Email\" = ?", List.of(new QueryParameter("string", null)), null, null);
+        assertEquals(0, nullMatch.rowCount()); // NULL never equals anything
+
+        QueryResult firstPage = explorerService.executeParameterizedQuery(
+            "SELECT \"OrderID\" FROM \"Orders\" WHERE \"TotalAmount\" > ? ORDER BY \"OrderID\"",
+            List.of(new QueryParameter("decimal", "10.00")), 2, "compact");
+        assertEquals(2, firstPage.rowCount());
+        assertNotNull(firstPage.cursor());
+        QueryResult secondPage = explorerService.fetchNextPage(firstPage.cursor(), 2);
+        assertEquals(List.of(List.of(103)), secondPage.data());
+    }
+
+    @Test
+    void testExecuteParameterizedQuery_invalidValue() {
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> explorerService.executeParameterizedQuery("SELECT * FROM \"Users\" WHERE \"UserID\" = ?",
+                List.of(new QueryParameter("integer", "one")), null, null));
+        assertEquals("Parameter 1: 'one' is not a valid integer", ex.getCause().getMessage());
+
+        ex = assertThrows(ToolExecutionException.class,
+            () -> explorerService.executeParameterizedQuery("SELECT * FROM \"Users\" WHERE \"UserID\" = ?",
+                List.of(new QueryParameter("uuid", "1")), null, null));
+        assertTrue(ex.getCause().getMessage().startsWith("Unknown parameter type 'uuid'"));
+    }
+
+    @Test
+    void testExecuteParameterizedQuery_resultCacheKeyedByParameters() {
+        ExplorerService cachingService = ExplorerService.builder(h2DataSource)
+            .resultCache(new ResultCache(60_000, 1_000_000)).build();
+        String query = "SELECT * FROM \"Users\" WHERE \"UserID\" = ?";
+
+        assertEquals(ResultCache.MISS, cachingService.executeParameterizedQuery(query,
+            List.of(new QueryParameter("integer", "1")), null, null).cache());
+        assertEquals(ResultCache.HIT, cachingService.executeParameterizedQuery(query,
+            List.of(new QueryParameter("integer", "1")), null, null).cache());
+        QueryResult other = cachingService.executeParameterizedQuery(query, List.of(new QueryParameter("integer", "2")), null, null);
+        assertEquals(ResultCache.MISS, other.cache());
+        assertEquals("BobJohnson", other.rows().get(0).get("Username"));
+    }
+
+    @Test
+    void testExecuteQuery_readOnlyAnalyticsRejectsWrites() {
+        QuerySettings settings = new QuerySettings(500, 10_000, 0, 300_000, 4, ExecutionMode.READONLY_ANALYTICS);
+        ExplorerService analyticsService = ExplorerService.builder(h2DataSource).querySettings(settings).build();
+
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> analyticsService.executeQuery("DELETE FROM \"Users\""));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        int userCount = explorerService.executeQuery("SELECT * FROM \"Users\"").rowCount();
+        assertTrue(userCount > 0);
+        assertEquals(userCount, analyticsService.executeQuery("SELECT * FROM \"Users\"").rowCount());
+        assertFalse(analyticsService.getTableNames().isEmpty());
+    }
+
+    @Test
+    void testExecuteQuery_readOnlyAnalyticsRejectsWritesBehindQueries() throws SQLException {
+        try (Connection conn = h2DataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE \"Scratch\" (\"ID\" INT PRIMARY KEY)");
+            stmt.execute("INSERT INTO \"Scratch\" VALUES (1), (2), (3)");
+        }
+        try {
+            QuerySettings settings = new QuerySettings(500, 10_000, 0, 300_000, 4, ExecutionMode.READONLY_ANALYTICS);
+            ExplorerService analyticsService = ExplorerService.builder(h2DataSource).querySettings(settings).build();
+            // H2 only takes setReadOnly as a hint, both of these delete every row when they reach it
+            for (String write : List.of("EXPLAIN ANALYZE DELETE FROM \"Scratch\"",
+                    "SELECT * FROM OLD TABLE (DELETE FROM \"Scratch\")")) {
+                ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+                    () -> analyticsService.executeQuery(write));
+                assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+                assertThrows(ToolExecutionException.class, () -> analyticsService.explainQuery(write, null));
+            }
+            assertEquals(3, explorerService.executeQuery("SELECT * FROM \"Scratch\"").rowCount());
+        } finally {
+            try (Connection conn = h2DataSource.getConnection(); Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE \"Scratch\"");
+            }
+        }
+    }
+
+    @Test
+    void testExecuteQuery_resultCacheHitUntilWrite() {
+        ExplorerService cachingService = ExplorerService.builder(h2DataSource)
+            .resultCache(new ResultCache(60_000, 1_000_000)).build();
+
+        assertEquals(ResultCache.MISS, cachingService.executeQuery("SELECT * FROM \"Users\"").cache());
+        QueryResult hit = cachingService.executeQuery("SELECT *  FROM \"Users\";");
+        assertEquals(ResultCache.HIT, hit.cache());
+        assertEquals(3, hit.rowCount());
+        // H2 refuses a write through executeQuery, the cache is invalidated all the same
+        assertThrows(ToolExecutionException.class,
+            () -> cachingService.executeQuery("UPDATE \"Users\" SET \"Username\" = \"Username\""));
+        assertEquals(ResultCache.MISS, cachingService.executeQuery("SELECT * FROM \"Users\"").cache());
+        // cursors are not cached
+        assertNull(cachingService.executeQuery("SELECT * FROM \"Users\"", 10, null).cache());
+        assertNull(explorerService.executeQuery("SELECT * FROM \"Users\"").cache());
+    }
+
+    @Test
+    void testExecuteQuery_ddlInvalidatesSchemaCache() throws SQLException {
+        ExplorerService cachedService = ExplorerService.builder(h2DataSource)
+            .schemaCache(new SchemaCache(60_000, 10)).build();
+        TableDetails first = cachedService.describeTable(null, "PUBLIC", "Users");
+        try {
+            // H2 refuses DDL through executeQuery, the schema cache is invalidated all the same
+            assertThrows(ToolExecutionException.class,
+                () -> cachedService.executeQuery("CREATE TABLE \"DdlProbe\" (\"ID\" INT PRIMARY KEY)"));
+            assertNotSame(first, cachedService.describeTable(null, "PUBLIC", "Users"));
+        } finally {
+            try (Connection conn = h2DataSource.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS \"DdlProbe\"");
+            }
+        }
+    }
+
+    @Test
+    void testFetchNextPage_unknownCursor() {
+        ToolExecutionException ex = assertThrows(ToolExecutionException.class,
+            () -> explorerService.fetchNextPage("no-such-cursor", null));
+        assertEquals("Cursor 'no-such-cursor' does not exist or has expired.", ex.getCause().getMessage());
+    }
+
     @Test
     void testGetTableNames_success() {
         List<TableInfo> tables = explorerService.getTableNames();
@@ -128,6 +526,208 @@ class ExplorerServiceH2IntegrationTest {
         assertTrue(ordersTableOpt.isPresent(), "Orders table not found");
     }
 
+    @Test
+    void testSchemaCache_servesRepeatedCallsUntilInvalidated() throws SQLException {
+        ExplorerService cachedService = ExplorerService.builder(h2DataSource)
+            .schemaCache(new SchemaCache(60_000, 10)).build();
+        TableDetails first = cachedService.describeTable(null, "PUBLIC", "Users");
+        assertSame(first, cachedService.describeTable(null, "PUBLIC", "Users"));
+        int tableCount = cachedService.getTableNames().size();
+
+        try (Connection conn = h2DataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE \"CacheProbe\" (\"ID\" INT PRIMARY KEY)");
+        }
+        try {
+            assertEquals(tableCount, cachedService.getTableNames().size()); // still served from the cache
+
+            SchemaCacheStatus status = cachedService.invalidateSchemaCache(null, null, null);
+            assertEquals(2, status.invalidatedEntries());
+            assertEquals(2, status.hits());
+            assertEquals(2, status.misses());
+            assertEquals(0, status.cachedEntries());
+
+            assertEquals(tableCount + 1, cachedService.getTableNames().size());
+            assertNotSame(first, cachedService.describeTable(null, "PUBLIC", "Users"));
+        } finally {
+            try (Connection conn = h2DataSource.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE \"CacheProbe\"");
+            }
+        }
+    }
+
+    @Test
+    void testGetTableStats_readsRowCountsFromCatalog() {
+        List<TableStats> stats = explorerService.getTableStats(null, "PUBLIC", null);
+        TableStats users = stats.stream().filter(t -> "Users".equals(t.tableName())).findFirst().orElseThrow();
+        assertEquals(3L, users.estimatedRows());
+        assertEquals("statistics", users.source());
+        assertEquals("PUBLIC", users.schema());
+        assertTrue(stats.stream().anyMatch(t -> "Orders".equals(t.tableName())));
+
+        assertEquals(List.of(users), explorerService.getTableStats(null, "PUBLIC", "Users"));
+    }
+
+    @Test
+    void testGetTableStats_unknownTable() {
+        ToolExecutionException e = assertThrows(ToolExecutionException.class,
+            () -> explorerService.getTableStats(null, "PUBLIC", "Missing"));
+        assertEquals("Table 'Missing' does not exist in the database.", e.getCause().getMessage());
+    }
+
+    @Test
+    void testProfileTable_profilesEveryColumn() {
+        TableProfile profile = explorerService.profileTable(null, "PUBLIC", "Users", null, null);
+        assertEquals("Users", profile.tableName());
+        assertEquals(3, profile.rowCount());
+        assertTrue(profile.complete());
+
+        Map<String, ColumnProfile> byName = profile.columns().stream()
+            .collect(java.util.stream.Collectors.toMap(c -> c.column().name(), c -> c));
+        ColumnProfile points = byName.get("Points");
+        assertEquals(explorerService.describeTable(null, "PUBLIC", "Users").columns().get(4), points.column());
+        assertEquals(0, points.nullCount());
+        assertEquals(0, points.min());
+        assertEquals(150, points.max());
+        assertEquals(75.0, points.mean());
+        assertEquals(75.0, points.quantiles().get("p50"));
+        assertEquals(3L, points.distinctEstimate());
+
+        ColumnProfile email = byName.get("Email");
+        assertEquals(1, email.nullCount());
+        assertEquals(1.0 / 3, email.nullRatio(), 1e-9);
+        assertEquals("alice.smith@example.com", email.min());
+        assertNull(email.quantiles());
+        assertNull(email.topValues()); // every value is seen once
+    }
+
+    @Test
+    void testProfileTable_maxRowsProfilesFirstRows() {
+        TableProfile profile = explorerService.profileTable(null, "PUBLIC", "Orders", 2, null);
+        assertEquals(2, profile.rowCount());
+        assertFalse(profile.complete());
+        ColumnProfile user = profile.columns().stream()
+            .filter(c -> "UserID".equals(c.column().name())).findFirst().orElseThrow();
+        assertNotNull(user.distinctEstimate());
+
+        TableProfile all = explorerService.profileTable(null, "PUBLIC", "Orders", 3, null);
+        assertEquals(3, all.rowCount());
+        assertTrue(all.complete());
+        ColumnProfile allUsers = all.columns().stream()
+            .filter(c -> "UserID".equals(c.column().name())).findFirst().orElseThrow();
+        assertEquals(List.of(new ValueCount(1, 2)), allUsers.topValues());
+    }
+
+    @Test
+    void testProfileTable_sampleRowsProfilesARandomSample() {
+        TableProfile sampled = explorerService.profileTable(null, "PUBLIC", "Orders", null, 2);
+        assertEquals(2, sampled.rowCount());
+        assertFalse(sampled.complete());
+
+        TableProfile whole = explorerService.profileTable(null, "PUBLIC", "Users", null, 10);
+        assertEquals(3, whole.rowCount());
+        assertTrue(whole.complete());
+
+        ToolExecutionException e = assertThrows(ToolExecutionException.class,
+            () -> explorerService.profileTable(null, "PUBLIC", "Orders", 2, 2));
+        assertEquals("Pass either maxRows or sampleRows, not both.", e.getCause().getMessage());
+    }
+
+    @Test
+    void testSampleTable_sameSeedReadsSameRows() {
+        TableSample sample = explorerService.sampleTable(null, "PUBLIC", "Orders", 2, null, 5L, null);
+        assertEquals("key-probe", sample.method());
+        assertEquals(5L, sample.seed());
+        assertEquals(2, sample.result().rowCount());
+        assertEquals(sample.result().rows(),
+            explorerService.sampleTable(null, "PUBLIC", "Orders", 2, null, 5L, null).result().rows());
+
+        TableSample all = explorerService.sampleTable(null, "PUBLIC", "Orders", null, null, null, "compact");
+        assertEquals("all", all.method());
+        assertEquals(3, all.result().rowCount());
+        assertNotNull(all.result().data());
+    }
+
+    @Test
+    void testSampleTable_rowsAndPercentAreExclusive() {
+        ToolExecutionException e = assertThrows(ToolExecutionException.class,
+            () -> explorerService.sampleTable(null, "PUBLIC", "Orders", 2, 10.0, null, null));
+        assertEquals("Pass either rows or percent, not both.", e.getCause().getMessage());
+    }
+
+    @Test
+    void testExplainQuery_listsFullScans() {
+        QueryPlan plan = explorerService.explainQuery("SELECT * FROM \"Users\" u, \"Orders\" o", null);
+        assertEquals(List.of("PUBLIC.Users", "PUBLIC.Orders"), plan.fullScans());
+        assertEquals(9L, plan.estimatedRows());
+
+        ToolExecutionException e = assertThrows(ToolExecutionException.class,
+            () -> explorerService.explainQuery("SELECT 1; SELECT 2", null));
+        assertEquals("Only a single query can be explained.", e.getCause().getMessage());
+    }
+
+    @Test
+    void testExplainQuery_rejectsStatementsExplainWouldRun() {
+        int orders = explorerService.executeQuery("SELECT * FROM \"Orders\"").rowCount();
+        ToolExecutionException e = assertThrows(ToolExecutionException.class,
+            () -> explorerService.explainQuery("ANALYZE DELETE FROM \"Orders\"", null));
+        assertEquals("Only queries starting with SELECT, WITH, VALUES or TABLE can be explained.", e.getCause().getMessage());
+        assertEquals(orders, explorerService.executeQuery("SELECT * FROM \"Orders\"").rowCount());
+    }
+
+    @Test
+    void testQueryBudget_rejectsQueriesOverBudgetWithPlan() {
+        ExplorerService budgeted = ExplorerService.builder(h2DataSource).queryBudget(new QueryBudget(0, 5)).build();
+        ToolExecutionException e = assertThrows(ToolExecutionException.class,
+            () -> budgeted.executeQuery("SELECT * FROM \"Users\" u CROSS JOIN \"Orders\" o", null, null));
+        String message = e.getCause().getMessage();
+        assertTrue(message.startsWith("Query rejected, its estimated 9 rows are over the budget of 5."), message);
+        assertTrue(message.contains("PUBLIC.Users.tableScan"), message);
+
+        QueryResult seek = budgeted.executeQuery("SELECT * FROM \"Orders\" WHERE \"OrderID\" = 101", null, null);
+        assertEquals(1, seek.rowCount());
+        // statements EXPLAIN does not take are not checked
+        assertTrue(budgeted.executeQuery("SHOW TABLES", null, null).rowCount() >= 2);
+    }
+
+    @Test
+    void testSchemaCache_invalidateSingleTable() {
+        ExplorerService cachedService = ExplorerService.builder(h2DataSource)
+            .schemaCache(new SchemaCache(60_000, 10)).build();
+        TableDetails users = cachedService.describeTable(null, "PUBLIC", "Users");
+        TableDetails orders = cachedService.describeTable(null, "PUBLIC", "Orders");
+
+        SchemaCacheStatus status = cachedService.invalidateSchemaCache(null, "PUBLIC", "Orders");
+        assertEquals(1, status.invalidatedEntries());
+        assertSame(users, cachedService.describeTable(null, "PUBLIC", "Users"));
+        assertNotSame(orders, cachedService.describeTable(null, "PUBLIC", "Orders"));
+    }
+
+    @Test
+    void testDescribeSchema_matchesDescribeTable() {
+        ExplorerService uncachedService = ExplorerService.builder(h2DataSource)
+            .schemaCache(new SchemaCache(0, 0)).build();
+        List<TableDetails> schema = uncachedService.describeSchema(null, "PUBLIC");
+
+        Map<String, TableDetails> byName = schema.stream()
+            .collect(java.util.stream.Collectors.toMap(TableDetails::tableName, t -> t));
+        assertEquals(uncachedService.describeTable(null, "PUBLIC", "Users"), byName.get("Users"));
+        assertEquals(uncachedService.describeTable(null, "PUBLIC", "Orders"), byName.get("Orders"));
+        assertEquals("Users", byName.get("Orders").foreignKeys().get(0).pkTableName());
+    }
+
+    @Test
+    void testDescribeSchema_seedsDescribeTableCache() {
+        ExplorerService cachedService = ExplorerService.builder(h2DataSource)
+            .schemaCache(new SchemaCache(60_000, 10)).build();
+        List<TableDetails> schema = cachedService.describeSchema(null, "PUBLIC");
+        TableDetails users = schema.stream().filter(t -> "Users".equals(t.tableName())).findFirst().orElseThrow();
+
+        assertSame(users, cachedService.describeTable(null, "PUBLIC", "Users"));
+        assertSame(schema, cachedService.describeSchema(null, "PUBLIC"));
+    }
+
     @Test
     void testDescribeTable_success_usersTable() {
         // H2 default catalog is the database name, often "TESTDB" for jdbc:h2:mem:testdb
@@ -0,0 +1,80 @@
+package com.mike.chao.jdbc.explorer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringLruCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void testGetCountsHitsAndMisses() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(100, 10, now::get);
+        assertEquals(Optional.empty(), cache.get("a"));
+        cache.put("a", "A");
+        assertEquals(Optional.of("A"), cache.get("a"));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(100, 10, now::get);
+        cache.put("a", "A");
+        now.addAndGet(99);
+        assertTrue(cache.get("a").isPresent());
+        now.addAndGet(1);
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsDroppedWhenFull() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(100, 2, now::get);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+    }
+
+    @Test
+    void testLoaderIsOnlyCalledOnMissAndFailuresAreNotCached() throws Exception {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(100, 10, now::get);
+        AtomicInteger loads = new AtomicInteger();
+        assertThrows(SQLException.class, () -> cache.get("a", () -> {
+            loads.incrementAndGet();
+            throw new SQLException("boom");
+        }));
+        assertEquals(7, cache.get("a", () -> loads.incrementAndGet() + 5));
+        assertEquals(7, cache.get("a", () -> loads.incrementAndGet() + 5));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidate() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(100, 10, now::get);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertEquals(1, cache.invalidateIf("a"::equals));
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(1, cache.invalidateAll());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testZeroTtlDisablesCaching() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(0, 10, now::get);
+        cache.put("a", "A");
+        assertTrue(cache.get("a").isEmpty());
+    }
+}
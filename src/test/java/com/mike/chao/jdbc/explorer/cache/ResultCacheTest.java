@@ -0,0 +1,106 @@
+package com.mike.chao.jdbc.explorer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+import com.mike.chao.jdbc.explorer.query.ResultFormat;
+import com.mike.chao.jdbc.explorer.query.SqlText;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void testPutMarksMissAndGetMarksHit() {
+        ResultCache cache = new ResultCache(100, 1_000, now::get);
+        SqlText sql = SqlText.of("SELECT * FROM users");
+
+        assertTrue(cache.get(sql, ResultFormat.ROWS).isEmpty());
+        assertEquals(ResultCache.MISS, cache.put(sql, ResultFormat.ROWS, result(2), 10, cache.generation()).cache());
+        QueryResult hit = cache.get(sql, ResultFormat.ROWS).orElseThrow();
+
+        assertEquals(ResultCache.HIT, hit.cache());
+        assertEquals(2, hit.rowCount());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void testKeyIgnoresFormattingButNotFormat() {
+        ResultCache cache = new ResultCache(100, 1_000, now::get);
+        cache.put(SqlText.of("SELECT *\n  FROM users -- all of them\n;"), ResultFormat.ROWS, result(2), 10, cache.generation());
+
+        assertTrue(cache.get(SqlText.of("SELECT * /* again */ FROM   users"), ResultFormat.ROWS).isPresent());
+        assertTrue(cache.get(SqlText.of("SELECT * FROM users"), ResultFormat.COMPACT).isEmpty());
+        assertTrue(cache.get(SqlText.of("SELECT * FROM users WHERE name = 'a  b'"), ResultFormat.ROWS).isEmpty());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        ResultCache cache = new ResultCache(100, 1_000, now::get);
+        SqlText sql = SqlText.of("SELECT 1");
+        cache.put(sql, ResultFormat.ROWS, result(1), 10, cache.generation());
+
+        now.addAndGet(100);
+
+        assertTrue(cache.get(sql, ResultFormat.ROWS).isEmpty());
+        assertEquals(0, cache.bytes());
+    }
+
+    @Test
+    void testLeastRecentlyUsedResultsAreDroppedOverMaxBytes() {
+        ResultCache cache = new ResultCache(100, 100, now::get);
+        cache.put(SqlText.of("SELECT 1"), ResultFormat.ROWS, result(1), 40, cache.generation());
+        cache.put(SqlText.of("SELECT 2"), ResultFormat.ROWS, result(1), 40, cache.generation());
+        cache.get(SqlText.of("SELECT 1"), ResultFormat.ROWS);
+
+        cache.put(SqlText.of("SELECT 3"), ResultFormat.ROWS, result(1), 40, cache.generation());
+
+        assertTrue(cache.get(SqlText.of("SELECT 1"), ResultFormat.ROWS).isPresent());
+        assertTrue(cache.get(SqlText.of("SELECT 2"), ResultFormat.ROWS).isEmpty());
+        assertEquals(80, cache.bytes());
+    }
+
+    @Test
+    void testResultLargerThanCacheIsNotKept() {
+        ResultCache cache = new ResultCache(100, 100, now::get);
+        SqlText sql = SqlText.of("SELECT * FROM events");
+
+        assertEquals(ResultCache.MISS, cache.put(sql, ResultFormat.ROWS, result(1), 101, cache.generation()).cache());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidationDropsEntriesAndResultsReadBeforeIt() {
+        ResultCache cache = new ResultCache(100, 1_000, now::get);
+        SqlText sql = SqlText.of("SELECT 1");
+        cache.put(sql, ResultFormat.ROWS, result(1), 10, cache.generation());
+        long readGeneration = cache.generation();
+
+        assertEquals(1, cache.invalidateAll());
+        cache.put(sql, ResultFormat.ROWS, result(1), 10, readGeneration);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testDisabledCacheReturnsResultUnchanged() {
+        ResultCache cache = ResultCache.disabled();
+        SqlText sql = SqlText.of("SELECT 1");
+        QueryResult result = result(1);
+
+        assertSame(result, cache.put(sql, ResultFormat.ROWS, result, 10, cache.generation()));
+        assertTrue(cache.get(sql, ResultFormat.ROWS).isEmpty());
+    }
+
+    private static QueryResult result(int rows) {
+        return new QueryResult("rows", null, Collections.nCopies(rows, Map.<String, Object>of("id", 1)), null,
+            rows, false, null, null, null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncServerConfigTest {
+
+    private final Scheduler scheduler = new AsyncServerConfig().toolScheduler();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void testFastToolCompletesWhileSlowToolIsRunning() throws InterruptedException {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        var slowTool = AsyncServerConfig.toAsync(tool("executeQuery", () -> {
+            slowStarted.countDown();
+            await(releaseSlow);
+            return "slow";
+        }), scheduler);
+        var fastTool = AsyncServerConfig.toAsync(tool("describeTable", () -> "fast"), scheduler);
+
+        Mono<McpSchema.CallToolResult> slowCall = slowTool.call().apply(null, Map.of()).cache();
+        slowCall.subscribe();
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+        McpSchema.CallToolResult fastResult = fastTool.call().apply(null, Map.of()).block(Duration.ofSeconds(5));
+        assertEquals("fast", ((McpSchema.TextContent) fastResult.content().get(0)).text());
+
+        releaseSlow.countDown();
+        McpSchema.CallToolResult slowResult = slowCall.block(Duration.ofSeconds(5));
+        assertEquals("slow", ((McpSchema.TextContent) slowResult.content().get(0)).text());
+    }
+
+    @Test
+    void testToolRunsOnVirtualThread() {
+        var threadTool = AsyncServerConfig.toAsync(tool("getTableNames", () -> Thread.currentThread().getName()), scheduler);
+
+        McpSchema.CallToolResult result = threadTool.call().apply(null, Map.of()).block(Duration.ofSeconds(5));
+
+        assertTrue(((McpSchema.TextContent) result.content().get(0)).text().startsWith("mcp-tool-"));
+    }
+
+    @Test
+    void testResourceAndPromptAreConverted() {
+        var resource = new McpServerFeatures.SyncResourceSpecification(
+            new McpSchema.Resource("memo://insights", "Business Insights", "Insights", "text/plain", null),
+            (exchange, request) -> new McpSchema.ReadResourceResult(List.of(
+                new McpSchema.TextResourceContents(request.uri(), "text/plain", "No insights yet"))));
+        var prompt = new McpServerFeatures.SyncPromptSpecification(
+            new McpSchema.Prompt("jdbc-explorer-prompt", "Explore", List.of()),
+            (exchange, request) -> new McpSchema.GetPromptResult("Explore", List.of()));
+
+        var asyncResource = AsyncServerConfig.toAsync(resource, scheduler);
+        var asyncPrompt = AsyncServerConfig.toAsync(prompt, scheduler);
+
+        assertSame(resource.resource(), asyncResource.resource());
+        var readResult = asyncResource.readHandler()
+            .apply(null, new McpSchema.ReadResourceRequest("memo://insights")).block(Duration.ofSeconds(5));
+        assertEquals("No insights yet", ((McpSchema.TextResourceContents) readResult.contents().get(0)).text());
+        assertSame(prompt.prompt(), asyncPrompt.prompt());
+        var promptResult = asyncPrompt.promptHandler()
+            .apply(null, new McpSchema.GetPromptRequest("jdbc-explorer-prompt", Map.of())).block(Duration.ofSeconds(5));
+        assertEquals("Explore", promptResult.description());
+    }
+
+    @Test
+    void testAsyncSpecificationsOnlyRegisteredInAsyncMode() {
+        var contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SyncSpecifications.class, AsyncServerConfig.class);
+
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean("asyncToolSpecifications"));
+        contextRunner.withPropertyValues("spring.ai.mcp.server.type=ASYNC").run(context -> {
+            @SuppressWarnings("unchecked")
+            List<McpServerFeatures.AsyncToolSpecification> tools =
+                context.getBean("asyncToolSpecifications", List.class);
+            assertEquals(1, tools.size());
+            assertEquals("getTableNames", tools.get(0).tool().name());
+        });
+    }
+
+    @Configuration
+    static class SyncSpecifications {
+
+        @Bean
+        public List<McpServerFeatures.SyncToolSpecification> tools() {
+            return List.of(tool("getTableNames", () -> "[]"));
+        }
+    }
+
+    private static McpServerFeatures.SyncToolSpecification tool(String name, java.util.function.Supplier<String> body) {
+        return new McpServerFeatures.SyncToolSpecification(new McpSchema.Tool(name, "description", "{}"),
+            (exchange, args) -> new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(body.get())), false));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
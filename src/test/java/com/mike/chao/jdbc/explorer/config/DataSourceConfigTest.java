@@ -9,6 +9,18 @@ import org.springframework.test.context.TestPropertySource;
 
 import javax.sql.DataSource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import com.mike.chao.jdbc.explorer.query.ExecutionMode;
+import com.zaxxer.hikari.HikariDataSource;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -47,4 +59,149 @@ class DataSourceConfigTest {
                 .hasMessageContaining("Unsupported DB URL"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testReadOnlyPropertiesOpenConnectionsReadOnly() {
+        assertEquals(Map.of("open_mode", "1"),
+            DataSourceConfig.readOnlyProperties(Dialect.SQLITE, ExecutionMode.READONLY_ANALYTICS));
+        assertEquals(Map.of("readOnlyMode", "always"),
+            DataSourceConfig.readOnlyProperties(Dialect.POSTGRES, ExecutionMode.READONLY_ANALYTICS));
+        assertEquals(Map.of(), DataSourceConfig.readOnlyProperties(Dialect.H2, ExecutionMode.READONLY_ANALYTICS));
+        assertEquals(Map.of(), DataSourceConfig.readOnlyProperties(Dialect.POSTGRES, ExecutionMode.DEFAULT));
+    }
+
+    @Test
+    void testPooledDataSourceUsesDriverDefaults() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(DataSourceConfig.class)
+            .withPropertyValues(
+                "db.url=jdbc:h2:mem:pooldb;DB_CLOSE_DELAY=-1",
+                "db.username=sa",
+                "db.password=",
+                "db.pool.enabled=true"
+            )
+            .run(context -> {
+                HikariDataSource ds = (HikariDataSource) context.getBean(DataSource.class);
+                assertEquals("org.h2.Driver", ds.getDriverClassName());
+                assertEquals(10, ds.getMaximumPoolSize());
+                assertEquals(1, ds.getMinimumIdle());
+                assertEquals("SELECT 1", ds.getConnectionTestQuery());
+                try (var conn = ds.getConnection()) {
+                    assertTrue(conn.isValid(1));
+                }
+            });
+    }
+
+    @Test
+    void testPooledDataSourceHonoursPoolProperties() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(DataSourceConfig.class)
+            .withPropertyValues(
+                "db.url=jdbc:h2:mem:pooldb2;DB_CLOSE_DELAY=-1",
+                "db.username=sa",
+                "db.password=",
+                "db.pool.enabled=true",
+                "db.pool.max-size=4",
+                "db.pool.min-idle=2",
+                "db.pool.idle-timeout=120000",
+                "db.pool.max-lifetime=900000",
+                "db.pool.validation-query=VALUES 1"
+            )
+            .run(context -> {
+                HikariDataSource ds = (HikariDataSource) context.getBean(DataSource.class);
+                assertEquals(4, ds.getMaximumPoolSize());
+                assertEquals(2, ds.getMinimumIdle());
+                assertEquals(120000, ds.getIdleTimeout());
+                assertEquals(900000, ds.getMaxLifetime());
+                assertEquals("VALUES 1", ds.getConnectionTestQuery());
+            });
+    }
+
+    @Test
+    void testPooledSqliteDataSourceIsSingleWriter() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(DataSourceConfig.class)
+            .withPropertyValues(
+                "db.url=jdbc:sqlite::memory:",
+                "db.pool.enabled=true",
+                "db.pool.max-size=8"
+            )
+            .run(context -> {
+                HikariDataSource ds = (HikariDataSource) context.getBean(DataSource.class);
+                assertEquals(1, ds.getMaximumPoolSize());
+                assertEquals(1, ds.getMinimumIdle());
+                assertNull(ds.getUsername());
+            });
+    }
+
+    @Test
+    void testReadOnlyAnalyticsOpensSqliteReadOnly() throws Exception {
+        Path file = Files.createTempFile("jdbc-explorer-readonly", ".db");
+        try {
+            try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file); Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE t (id INTEGER)");
+            }
+            for (String pooled : List.of("false", "true")) {
+                new ApplicationContextRunner()
+                    .withUserConfiguration(DataSourceConfig.class)
+                    .withPropertyValues(
+                        "db.url=jdbc:sqlite:" + file,
+                        "db.mode=readonly-analytics",
+                        "db.pool.enabled=" + pooled
+                    )
+                    .run(context -> {
+                        try (Connection conn = context.getBean(DataSource.class).getConnection();
+                             Statement stmt = conn.createStatement()) {
+                            ExecutionMode.READONLY_ANALYTICS.prepare(conn);
+                            assertTrue(conn.isReadOnly());
+                            assertThrows(SQLException.class, () -> stmt.execute("INSERT INTO t VALUES (1)"));
+                        }
+                    });
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testPooledDataSourceLazyStart() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(DataSourceConfig.class)
+            .withPropertyValues(
+                "db.url=jdbc:h2:mem:pooldb3;DB_CLOSE_DELAY=-1",
+                "db.username=sa",
+                "db.password=",
+                "db.pool.enabled=true",
+                "db.pool.lazy-start=true"
+            )
+            .run(context -> {
+                HikariDataSource ds = (HikariDataSource) context.getBean(DataSource.class);
+                assertNull(ds.getHikariPoolMXBean(), "The pool should not start before the first connection.");
+                assertEquals("jdbc-explorer-pool", ds.getPoolName());
+                try (var conn = ds.getConnection()) {
+                    assertTrue(conn.isValid(1));
+                }
+                assertNotNull(ds.getHikariPoolMXBean());
+            });
+    }
+
+    @Test
+    void testPooledDataSourceCachesPreparedStatements() {
+        new ApplicationContextRunner()
+            .withUserConfiguration(DataSourceConfig.class)
+            .withPropertyValues(
+                "db.url=jdbc:postgresql://localhost:5432/db",
+                "db.pool.enabled=true",
+                "db.pool.lazy-start=true",
+                "db.pool.statement-cache-size=100"
+            )
+            .run(context -> {
+                HikariDataSource ds = (HikariDataSource) context.getBean(DataSource.class);
+                assertEquals("100", ds.getDataSourceProperties().getProperty("preparedStatementCacheQueries"));
+            });
+        assertEquals("250", DataSourceConfig.statementCacheProperties("com.mysql.cj.jdbc.Driver", 250).get("prepStmtCacheSize"));
+        assertEquals("true", DataSourceConfig.statementCacheProperties("com.mysql.cj.jdbc.Driver", 250).get("cachePrepStmts"));
+        assertTrue(DataSourceConfig.statementCacheProperties("com.mysql.cj.jdbc.Driver", 0).isEmpty());
+        assertTrue(DataSourceConfig.statementCacheProperties("org.h2.Driver", 250).isEmpty());
+    }
+
+}
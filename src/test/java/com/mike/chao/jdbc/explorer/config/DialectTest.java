@@ -0,0 +1,27 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DialectTest {
+
+    @Test
+    void testDialectIsPickedFromUrlPrefix() {
+        assertEquals(Optional.of(Dialect.POSTGRES), Dialect.fromUrl("jdbc:postgresql://localhost:5432/db"));
+        assertEquals(Optional.of(Dialect.SQLITE), Dialect.fromUrl("jdbc:sqlite::memory:"));
+        assertEquals(Optional.empty(), Dialect.fromUrl("jdbc:derby:memory:db"));
+        assertEquals(Optional.empty(), Dialect.fromUrl(null));
+    }
+
+    @Test
+    void testQualifiedNamesAreQuoted() {
+        assertEquals("\"sales\".\"order \"\"items\"\"\"", Dialect.POSTGRES.qualifiedName("db", "sales", "order \"items\""));
+        assertEquals("`shop`.`order``s`", Dialect.MYSQL.qualifiedName("shop", null, "order`s"));
+        assertEquals("\"orders\"", Dialect.H2.qualifiedName("DB", null, "orders"));
+        assertEquals("LIMIT 10", Dialect.H2.limitClause(10));
+        assertEquals("FETCH FIRST 10 ROWS ONLY", Dialect.ORACLE.limitClause(10));
+    }
+}
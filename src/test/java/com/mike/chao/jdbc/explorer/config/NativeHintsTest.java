@@ -0,0 +1,60 @@
+package com.mike.chao.jdbc.explorer.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.mike.chao.jdbc.explorer.data.QueryColumn;
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+import com.mike.chao.jdbc.explorer.query.QueryResultConverter;
+import com.mike.chao.jdbc.explorer.tools.DatabaseInfoToolProvider;
+import com.zaxxer.hikari.HikariConfig;
+
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsTest() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testDataRecordsAndTheirComponentsAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(QueryResult.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(QueryResult.class, "rows").test(hints));
+        // reached through QueryResult.columns
+        assertTrue(RuntimeHintsPredicates.reflection().onType(QueryColumn.class).test(hints));
+        // getDatabaseInfo serializes it with the ObjectMapper rather than through Spring AI
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(DatabaseInfoToolProvider.DatabaseInfo.class, "databaseProductName").test(hints));
+    }
+
+    @Test
+    void testEveryDriverIsRegistered() {
+        for (String driverClassName : DataSourceConfig.driverClassNames()) {
+            assertNotNull(hints.reflection().getTypeHint(TypeReference.of(driverClassName)),
+                driverClassName);
+        }
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/java.sql.Driver").test(hints));
+    }
+
+    @Test
+    void testReflectiveFieldAccessIsRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(McpSyncServerExchange.class)
+            .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(HikariConfig.class)
+            .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+
+    @Test
+    void testResultConverterIsRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(QueryResultConverter.class)
+            .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
@@ -1,9 +1,12 @@
 package com.mike.chao.jdbc.explorer.config;
 
 import com.mike.chao.jdbc.explorer.ExplorerService;
+import com.mike.chao.jdbc.explorer.metrics.ToolMetrics;
+import com.mike.chao.jdbc.explorer.session.SessionRateLimiter;
 import com.mike.chao.jdbc.explorer.tools.BusinessInsightsToolProvider;
 import com.mike.chao.jdbc.explorer.tools.DatabaseInfoToolProvider;
 import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +18,11 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.mcp.McpToolUtils;
 import org.springframework.ai.tool.ToolCallback;
-import org.springframework.ai.tool.ToolCallbacks;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,8 +42,9 @@ class ToolConfigTest {
     @InjectMocks
     private ToolConfig toolConfig;
 
+    private final ToolMetrics toolMetrics = ToolMetrics.simple();
+
     // Mocks for static method calls
-    private MockedStatic<ToolCallbacks> mockedToolCallbacks;
     private MockedStatic<McpToolUtils> mockedMcpToolUtils;
 
     @Mock
@@ -56,34 +60,33 @@ class ToolConfigTest {
     @BeforeEach
     void setUp() {
         // Initialize static mocks
-        mockedToolCallbacks = Mockito.mockStatic(ToolCallbacks.class);
         mockedMcpToolUtils = Mockito.mockStatic(McpToolUtils.class);
 
-        // Define behavior for static method ToolCallbacks.from()
-        // It should return ToolCallback[]
-        ToolCallback[] explorerToolCallbacksArray = {mockExplorerToolCallback}; // Create an array
-        mockedToolCallbacks.when(() -> ToolCallbacks.from(mockExplorerService)).thenReturn(explorerToolCallbacksArray); // Return the array
+        // The ExplorerService resolves its tool callbacks once and shares them
+        List<ToolCallback> explorerToolCallbacksList = List.of(mockExplorerToolCallback);
+        when(mockExplorerService.getToolCallbacks()).thenReturn(explorerToolCallbacksList);
 
         // Define behavior for static method McpToolUtils.toSyncToolSpecification()
         // This method expects a List<ToolCallback> as input
-        List<ToolCallback> explorerToolCallbacksList = List.of(explorerToolCallbacksArray); // Convert array to List for this call
         List<McpServerFeatures.SyncToolSpecification> explorerServiceSpecs = new ArrayList<>(Collections.singletonList(mockExplorerServiceSpec));
         
-        // Ensure the argument matcher matches the list created from ToolCallbacks.from()
-        // The actual code does: List.of(ToolCallbacks.from(explorerService))
-        // So we need to mock based on what the actual code passes to toSyncToolSpecification
+        // The actual code passes the callbacks from explorerService.getToolCallbacks()
         mockedMcpToolUtils.when(() -> McpToolUtils.toSyncToolSpecification(explorerToolCallbacksList)).thenReturn(explorerServiceSpecs);
 
 
         // Define behavior for provider methods
         when(mockDatabaseInfoToolProvider.getDatabaseInfoTool()).thenReturn(mockDbInfoSpec);
         when(mockBusinessInsightsToolProvider.getAddBusinessInsightsTool()).thenReturn(mockBusinessInsightsSpec);
+
+        // The specs are wrapped for metrics, which reads the tool name
+        when(mockExplorerServiceSpec.tool()).thenReturn(new McpSchema.Tool("executeQuery", "Execute a query", "{}"));
+        when(mockDbInfoSpec.tool()).thenReturn(new McpSchema.Tool("getDatabaseInfo", "Database info", "{}"));
+        when(mockBusinessInsightsSpec.tool()).thenReturn(new McpSchema.Tool("addBusinessInsight", "Add insight", "{}"));
     }
 
     @AfterEach
     void tearDown() {
         // Close static mocks to avoid interference between tests
-        mockedToolCallbacks.close();
         mockedMcpToolUtils.close();
     }
 
@@ -93,16 +96,14 @@ class ToolConfigTest {
         List<McpServerFeatures.SyncToolSpecification> toolsList = toolConfig.tools(
                 mockExplorerService,
                 mockDatabaseInfoToolProvider,
-                mockBusinessInsightsToolProvider
+                mockBusinessInsightsToolProvider,
+                toolMetrics,
+                SessionRateLimiter.unlimited()
         );
 
-        // Verify static method calls
-        mockedToolCallbacks.verify(() -> ToolCallbacks.from(mockExplorerService), times(1));
-        
-        // The argument to toSyncToolSpecification should be the list created from the array
-        // In the actual code: List.of(ToolCallbacks.from(explorerService))
-        ToolCallback[] expectedArray = {mockExplorerToolCallback};
-        mockedMcpToolUtils.verify(() -> McpToolUtils.toSyncToolSpecification(List.of(expectedArray)), times(1));
+        // The shared callbacks are used instead of reflecting over ExplorerService again
+        verify(mockExplorerService, times(1)).getToolCallbacks();
+        mockedMcpToolUtils.verify(() -> McpToolUtils.toSyncToolSpecification(List.of(mockExplorerToolCallback)), times(1));
 
 
         // Verify provider method calls
@@ -114,14 +115,49 @@ class ToolConfigTest {
         // Expected size: 1 from ExplorerService + 1 from DatabaseInfoToolProvider + 1 from BusinessInsightsToolProvider
         assertEquals(3, toolsList.size(), "The list should contain three tool specifications.");
 
-        // Check if the list contains the expected mocked specifications
-        assertTrue(toolsList.contains(mockExplorerServiceSpec), "List should contain spec from ExplorerService.");
-        assertTrue(toolsList.contains(mockDbInfoSpec), "List should contain spec from DatabaseInfoToolProvider.");
-        assertTrue(toolsList.contains(mockBusinessInsightsSpec), "List should contain spec from BusinessInsightsToolProvider.");
+        // Check the order if it's important (it is, due to add()), each spec is wrapped for metrics but keeps its tool
+        assertSame(mockExplorerServiceSpec.tool(), toolsList.get(0).tool(), "First element should be from ExplorerService.");
+        assertSame(mockDbInfoSpec.tool(), toolsList.get(1).tool(), "Second element should be from DatabaseInfoToolProvider.");
+        assertSame(mockBusinessInsightsSpec.tool(), toolsList.get(2).tool(), "Third element should be from BusinessInsightsToolProvider.");
+    }
+
+    @Test
+    void testToolsAreInstrumented() {
+        McpSchema.CallToolResult expected = new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("ok")), false);
+        when(mockDbInfoSpec.call()).thenReturn((exchange, args) -> expected);
+
+        List<McpServerFeatures.SyncToolSpecification> toolsList = toolConfig.tools(
+                mockExplorerService,
+                mockDatabaseInfoToolProvider,
+                mockBusinessInsightsToolProvider,
+                toolMetrics,
+                SessionRateLimiter.unlimited()
+        );
+        McpSchema.CallToolResult result = toolsList.get(1).call().apply(null, Map.of());
+
+        assertSame(expected, result, "The wrapped tool should return the result of the original tool.");
+        assertTrue(toolMetrics.snapshot().stream()
+            .anyMatch(meter -> meter.name().equals("jdbc.explorer.tool.calls")
+                && "getDatabaseInfo".equals(meter.tags().get("tool"))),
+            "The call should be timed.");
+    }
+
+    @Test
+    void testToolsAreRateLimited() {
+        McpSchema.CallToolResult expected = new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("ok")), false);
+        when(mockDbInfoSpec.call()).thenReturn((exchange, args) -> expected);
+
+        List<McpServerFeatures.SyncToolSpecification> toolsList = toolConfig.tools(
+                mockExplorerService,
+                mockDatabaseInfoToolProvider,
+                mockBusinessInsightsToolProvider,
+                toolMetrics,
+                new SessionRateLimiter(0.001, 1)
+        );
+        McpSchema.CallToolResult first = toolsList.get(1).call().apply(null, Map.of());
+        McpSchema.CallToolResult second = toolsList.get(1).call().apply(null, Map.of());
 
-        // Check the order if it's important (it is, due to add())
-        assertSame(mockExplorerServiceSpec, toolsList.get(0), "First element should be from ExplorerService.");
-        assertSame(mockDbInfoSpec, toolsList.get(1), "Second element should be from DatabaseInfoToolProvider.");
-        assertSame(mockBusinessInsightsSpec, toolsList.get(2), "Third element should be from BusinessInsightsToolProvider.");
+        assertSame(expected, first, "The first call should be within the burst.");
+        assertTrue(second.isError(), "The second call should be refused by the rate limit.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package com.mike.chao.jdbc.explorer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mike.chao.jdbc.explorer.data.MeterSnapshot;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ToolMetrics toolMetrics = new ToolMetrics(registry);
+
+    @Test
+    void testInstrumentRecordsTimerAndResultSize() {
+        var spec = toolMetrics.instrument(spec("describeTable",
+            new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("héllo")), false)));
+
+        spec.call().apply(null, Map.of());
+
+        assertEquals(1, registry.get(ToolMetrics.TOOL_CALLS).tag("tool", "describeTable").tag("outcome", "success").timer().count());
+        assertEquals(6, registry.get(ToolMetrics.RESULT_SIZE).tag("tool", "describeTable").summary().totalAmount());
+    }
+
+    @Test
+    void testInstrumentRecordsErrorOutcome() {
+        var errorSpec = toolMetrics.instrument(spec("executeQuery",
+            new McpSchema.CallToolResult(List.of(new McpSchema.TextContent("bad sql")), true)));
+        var throwingSpec = toolMetrics.instrument(new McpServerFeatures.SyncToolSpecification(
+            new McpSchema.Tool("executeQuery", "Execute a query", "{}"),
+            (exchange, args) -> {
+                throw new IllegalStateException("boom");
+            }));
+
+        errorSpec.call().apply(null, Map.of());
+        assertThrows(IllegalStateException.class, () -> throwingSpec.call().apply(null, Map.of()));
+
+        assertEquals(2, registry.get(ToolMetrics.TOOL_CALLS).tag("tool", "executeQuery").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void testRecordErrorTagsSqlState() {
+        toolMetrics.recordError("executeQuery", new RuntimeException(new SQLException("no table", "42S02")));
+        toolMetrics.recordError("executeQuery", new IllegalArgumentException("bad format"));
+
+        assertEquals(1, registry.get(ToolMetrics.TOOL_ERRORS).tag("sqlState", "42S02").counter().count());
+        assertEquals(1, registry.get(ToolMetrics.TOOL_ERRORS).tag("sqlState", "none").counter().count());
+    }
+
+    @Test
+    void testRecordRows() {
+        toolMetrics.recordRows("executeQuery", 10);
+        toolMetrics.recordRows("executeQuery", 30);
+
+        var rows = registry.get(ToolMetrics.ROWS).tag("tool", "executeQuery").summary();
+        assertEquals(2, rows.count());
+        assertEquals(30, rows.max());
+    }
+
+    @Test
+    void testBindPoolRegistersGauges() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:metrics_pool;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(2);
+        config.setMinimumIdle(1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            toolMetrics.bindPool(dataSource);
+
+            assertEquals(2, registry.get(ToolMetrics.POOL_CONNECTIONS).tag("state", "total").gauge().value(), 1);
+            assertEquals(0, registry.get(ToolMetrics.POOL_CONNECTIONS).tag("state", "pending").gauge().value());
+        }
+    }
+
+    @Test
+    void testSnapshotOnlyContainsExplorerMeters() {
+        registry.counter("other.meter").increment();
+        toolMetrics.recordRows("fetchNextPage", 5);
+
+        List<MeterSnapshot> snapshot = toolMetrics.snapshot();
+
+        // the summary and its percentile gauges
+        assertTrue(snapshot.stream().allMatch(meter -> meter.name().startsWith(ToolMetrics.ROWS)));
+        assertEquals(ToolMetrics.ROWS, snapshot.get(0).name());
+        assertEquals("rows", snapshot.get(0).baseUnit());
+        assertEquals(Map.of("tool", "fetchNextPage"), snapshot.get(0).tags());
+        assertEquals(5.0, snapshot.get(0).measurements().get("total"));
+    }
+
+    @Test
+    void testUtf8Length() {
+        assertEquals(0, ToolMetrics.utf8Length(""));
+        assertEquals(3, ToolMetrics.utf8Length("abc"));
+        assertEquals(2, ToolMetrics.utf8Length("é"));
+        assertEquals(3, ToolMetrics.utf8Length("€"));
+        assertEquals(4, ToolMetrics.utf8Length("📊"));
+    }
+
+    @Test
+    void testFileExporterWritesSnapshot() throws Exception {
+        Path file = Files.createTempFile("metrics", ".json");
+        file.toFile().deleteOnExit();
+        toolMetrics.recordRows("executeQuery", 3);
+
+        try (MetricsFileExporter exporter = new MetricsFileExporter(toolMetrics, new ObjectMapper(), file, 60_000)) {
+            exporter.flush();
+            var written = new ObjectMapper().readTree(Files.readString(file));
+            assertEquals(ToolMetrics.ROWS, written.get(0).get("name").asText());
+        }
+    }
+
+    private static McpServerFeatures.SyncToolSpecification spec(String name, McpSchema.CallToolResult result) {
+        return new McpServerFeatures.SyncToolSpecification(new McpSchema.Tool(name, "description", "{}"),
+            (exchange, args) -> result);
+    }
+}
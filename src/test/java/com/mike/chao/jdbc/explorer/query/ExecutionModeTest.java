@@ -0,0 +1,117 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExecutionModeTest {
+
+    @Test
+    void testFrom() {
+        assertEquals(ExecutionMode.DEFAULT, ExecutionMode.from(null));
+        assertEquals(ExecutionMode.DEFAULT, ExecutionMode.from(" "));
+        assertEquals(ExecutionMode.READONLY_ANALYTICS, ExecutionMode.from("readonly-analytics"));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> ExecutionMode.from("fast"));
+        assertEquals("Unknown db.mode 'fast', expected one of default, readonly-analytics", ex.getMessage());
+    }
+
+    @Test
+    void testReadOnlyAnalyticsAllowsQueries() {
+        ExecutionMode mode = ExecutionMode.READONLY_ANALYTICS;
+        assertDoesNotThrow(() -> mode.check("SELECT * FROM users"));
+        assertDoesNotThrow(() -> mode.check("  -- top users\n  with t as (select 1) select * from t;"));
+        assertDoesNotThrow(() -> mode.check("/* report */ (SELECT 1) UNION (SELECT 2)"));
+        assertDoesNotThrow(() -> mode.check("SELECT 'a; DROP TABLE users' FROM dual; -- trailing comment"));
+        assertDoesNotThrow(() -> mode.check("EXPLAIN SELECT 1"));
+    }
+
+    @Test
+    void testReadOnlyAnalyticsRejectsWrites() {
+        ExecutionMode mode = ExecutionMode.READONLY_ANALYTICS;
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> mode.check("delete from users"));
+        assertEquals("Only queries are allowed in readonly-analytics mode, 'DELETE' statements are rejected.", ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> mode.check("/* SELECT */ DROP TABLE users"));
+        assertThrows(IllegalArgumentException.class, () -> mode.check("CREATE TABLE t (id INT)"));
+        assertThrows(IllegalArgumentException.class, () -> mode.check(""));
+    }
+
+    @Test
+    void testReadOnlyAnalyticsRejectsQueriesThatWrite() {
+        ExecutionMode mode = ExecutionMode.READONLY_ANALYTICS;
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> mode.check("EXPLAIN ANALYZE DELETE FROM users"));
+        assertEquals("Only queries are allowed in readonly-analytics mode, 'EXPLAIN' statements containing 'ANALYZE' are rejected.",
+            ex.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> mode.check("EXPLAIN (ANALYZE, BUFFERS) SELECT 1"));
+        assertThrows(IllegalArgumentException.class,
+            () -> mode.check("WITH d AS (DELETE FROM users RETURNING *) SELECT * FROM d"));
+        assertThrows(IllegalArgumentException.class, () -> mode.check("SELECT * INTO archive FROM users"));
+        assertThrows(IllegalArgumentException.class, () -> mode.check("SELECT * FROM OLD TABLE (DELETE FROM users)"));
+        // quoted names and text are not keywords
+        assertDoesNotThrow(() -> mode.check("SELECT \"update\", 'delete me' FROM users -- insert"));
+    }
+
+    @Test
+    void testReadOnlyAnalyticsRejectsMultipleStatements() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> ExecutionMode.READONLY_ANALYTICS.check("SELECT 1; DELETE FROM users"));
+        assertEquals("Only a single query is allowed in readonly-analytics mode.", ex.getMessage());
+    }
+
+    @Test
+    void testDefaultAllowsEverything() {
+        assertDoesNotThrow(() -> ExecutionMode.DEFAULT.check("DELETE FROM users; DROP TABLE users"));
+    }
+
+    @Test
+    void testPrepareReadOnlyAnalytics() throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.supportsTransactionIsolationLevel(Connection.TRANSACTION_READ_COMMITTED)).thenReturn(true);
+
+        ExecutionMode.READONLY_ANALYTICS.prepare(connection);
+
+        verify(connection).setReadOnly(true);
+        verify(connection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    }
+
+    @Test
+    void testPrepareSkipsUnsupportedIsolation() throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+
+        ExecutionMode.READONLY_ANALYTICS.prepare(connection);
+
+        verify(connection).setReadOnly(true);
+        verify(connection, never()).setTransactionIsolation(anyInt());
+    }
+
+    @Test
+    void testPrepareKeepsConnectionOpenedReadOnly() throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.isReadOnly()).thenReturn(true);
+
+        ExecutionMode.READONLY_ANALYTICS.prepare(connection);
+
+        verify(connection, never()).setReadOnly(anyBoolean());
+    }
+
+    @Test
+    void testPrepareDefaultLeavesConnectionAlone() throws SQLException {
+        Connection connection = mock(Connection.class);
+
+        ExecutionMode.DEFAULT.prepare(connection);
+
+        verifyNoInteractions(connection);
+    }
+}
@@ -0,0 +1,145 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import com.mike.chao.jdbc.explorer.session.McpSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryCursorRegistryTest {
+
+    private QueryCursorRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    @Test
+    void testRegisterEvictsLeastRecentlyUsedCursor() throws SQLException {
+        registry = new QueryCursorRegistry(300_000, 2);
+        QueryCursor first = mockCursor("first");
+        QueryCursor second = mockCursor("second");
+        QueryCursor third = mockCursor("third");
+
+        registry.register(first);
+        registry.register(second);
+        registry.get("first"); // touch first so second becomes the least recently used
+        registry.register(third);
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.get("first").isPresent());
+        assertTrue(registry.get("second").isEmpty());
+        assertTrue(second.isClosed());
+        assertFalse(first.isClosed());
+        assertFalse(third.isClosed());
+    }
+
+    @Test
+    void testEvictIdleClosesExpiredCursors() throws SQLException, InterruptedException {
+        registry = new QueryCursorRegistry(10, 4);
+        QueryCursor cursor = mockCursor("idle");
+        registry.register(cursor);
+
+        Thread.sleep(20);
+        registry.evictIdle();
+
+        assertEquals(0, registry.size());
+        assertTrue(cursor.isClosed());
+    }
+
+    @Test
+    void testCloseClosesAllCursorsAndRestoresAutoCommit() throws SQLException {
+        registry = new QueryCursorRegistry(300_000, 4);
+        Connection connection = mock(Connection.class);
+        QueryCursor cursor = new QueryCursor("tx", connection, mock(Statement.class), mock(ResultSetReader.class), ResultFormat.ROWS, true);
+        registry.register(cursor);
+
+        registry.close();
+
+        assertTrue(cursor.isClosed());
+        // what the query wrote is kept, as autocommit would have
+        verify(connection).commit();
+        verify(connection, never()).rollback();
+        verify(connection).setAutoCommit(true);
+        verify(connection).close();
+        assertThrows(IllegalStateException.class, () -> cursor.read(10, 0));
+    }
+
+    @Test
+    void testRegisterOnlyEvictsCursorsOfTheSameSession() {
+        registry = new QueryCursorRegistry(300_000, 4, 2);
+        QueryCursor other = mockCursor("other", "session-b");
+        registry.register(other);
+        QueryCursor first = mockCursor("first", "session-a");
+        QueryCursor second = mockCursor("second", "session-a");
+        QueryCursor third = mockCursor("third", "session-a");
+        registry.register(first);
+        registry.register(second);
+        registry.register(third);
+
+        assertTrue(registry.get("first").isEmpty());
+        assertTrue(first.isClosed());
+        assertTrue(registry.get("other").isPresent());
+        assertFalse(other.isClosed());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void testFailedReadRollsBack() throws SQLException {
+        Connection connection = mock(Connection.class);
+        ResultSetReader reader = mock(ResultSetReader.class);
+        when(reader.read(10, 0)).thenThrow(new SQLException("connection reset"));
+        QueryCursor cursor = new QueryCursor("tx", connection, mock(Statement.class), reader, ResultFormat.ROWS, true);
+
+        assertThrows(SQLException.class, () -> cursor.read(10, 0));
+        cursor.close();
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void testBufferedCursorReleasesConnectionAndPagesFromMemory() throws SQLException {
+        Connection connection = mock(Connection.class);
+        ResultSetReader reader = mock(ResultSetReader.class);
+        List<Object[]> rows = List.of(new Object[] {1}, new Object[] {2}, new Object[] {3});
+        when(reader.read(3, 0)).thenReturn(new RowBatch(rows, ResultSetReader.TRUNCATED_BY_MAX_ROWS, 30));
+        QueryCursor cursor = new QueryCursor("buffered", connection, mock(Statement.class), reader, ResultFormat.ROWS, true);
+
+        cursor.buffer(3, 0);
+        assertTrue(cursor.isBuffered());
+        verify(connection).commit();
+        verify(connection).close();
+
+        RowBatch first = cursor.read(2, 0);
+        assertEquals(2, first.rows().size());
+        assertEquals(ResultSetReader.TRUNCATED_BY_MAX_ROWS, first.truncationReason());
+        assertFalse(cursor.isClosed());
+
+        // the last page says the rest of the result did not fit in the buffer
+        RowBatch last = cursor.read(2, 0);
+        assertEquals(1, last.rows().size());
+        assertTrue(last.truncated());
+        assertTrue(cursor.isClosed());
+        verify(connection).close();
+    }
+
+    private QueryCursor mockCursor(String token) {
+        return new QueryCursor(token, mock(Connection.class), mock(Statement.class), mock(ResultSetReader.class), ResultFormat.ROWS, false);
+    }
+
+    private QueryCursor mockCursor(String token, String sessionId) {
+        return McpSession.callAs(sessionId, () -> mockCursor(token));
+    }
+}
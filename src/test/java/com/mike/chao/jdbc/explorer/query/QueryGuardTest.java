@@ -0,0 +1,146 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QueryGuardTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private QueryGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        if (guard != null) {
+            guard.close();
+        }
+    }
+
+    @Test
+    void testAdmitRejectsWhenQueueIsFull() throws InterruptedException {
+        guard = new QueryGuard(0, 1, 0, 1_000, now::get, 0);
+
+        try (var running = guard.admit()) {
+            RejectedExecutionException ex = assertThrows(RejectedExecutionException.class, guard::admit);
+            assertTrue(ex.getMessage().startsWith("Too many queries are running"));
+        }
+        // the slot is free again once the first execution is closed
+        guard.admit().close();
+    }
+
+    @Test
+    void testAdmitRejectsWhenNoSlotFreesUpInTime() throws InterruptedException {
+        guard = new QueryGuard(0, 1, 1, 50, now::get, 0);
+
+        try (var running = guard.admit()) {
+            RejectedExecutionException ex = assertThrows(RejectedExecutionException.class, guard::admit);
+            assertTrue(ex.getMessage().startsWith("Timed out after 50 ms"));
+            assertEquals(0, guard.queued());
+        }
+    }
+
+    @Test
+    void testQueuedQueryRunsWhenSlotIsReleased() throws Exception {
+        guard = new QueryGuard(0, 1, 1, 10_000, now::get, 0);
+        var running = guard.admit();
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            started.countDown();
+            try (var execution = guard.admit()) {
+                // admitted
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        running.close();
+
+        waiting.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testWatchAppliesQueryTimeout() throws Exception {
+        guard = new QueryGuard(30, 1, 0, 0, now::get, 0);
+        Statement statement = mock(Statement.class);
+
+        try (var execution = guard.admit()) {
+            execution.watch(statement);
+            assertEquals(1, guard.running());
+        }
+
+        verify(statement).setQueryTimeout(30);
+        assertEquals(0, guard.running());
+    }
+
+    @Test
+    void testSweepCancelsStatementPastDeadline() throws Exception {
+        guard = new QueryGuard(30, 1, 0, 0, now::get, 0);
+        Statement statement = mock(Statement.class);
+
+        try (var execution = guard.admit()) {
+            execution.watch(statement);
+            now.addAndGet(30_000);
+            guard.sweep();
+            verify(statement, never()).cancel();
+
+            now.addAndGet(5_000);
+            guard.sweep();
+            verify(statement).cancel();
+            assertEquals("Query cancelled after exceeding the 30 second timeout.", execution.cancelReason());
+        }
+    }
+
+    @Test
+    void testSweepCancelsStatementWhenCallerIsInterrupted() throws Exception {
+        guard = new QueryGuard(0, 0, 0, 0, now::get, 0);
+        Statement statement = mock(Statement.class);
+
+        try (var execution = guard.admit()) {
+            execution.watch(statement);
+            Thread.currentThread().interrupt();
+            guard.sweep();
+            assertTrue(Thread.interrupted());
+
+            verify(statement).cancel();
+            assertEquals("Query cancelled because its call was interrupted.", execution.cancelReason());
+        }
+    }
+
+    @Test
+    void testCloseCancelsRunningStatements() throws Exception {
+        guard = new QueryGuard(0, 0, 0, 0, now::get, 0);
+        Statement statement = mock(Statement.class);
+        var execution = guard.admit();
+        execution.watch(statement);
+
+        guard.close();
+
+        verify(statement).cancel();
+        execution.close();
+    }
+
+    @Test
+    void testCancelErrorIsIgnored() throws Exception {
+        guard = new QueryGuard(1, 0, 0, 0, now::get, 0);
+        Statement statement = mock(Statement.class);
+        doThrow(new SQLException("already closed")).when(statement).cancel();
+
+        try (var execution = guard.admit()) {
+            execution.watch(statement);
+            now.addAndGet(10_000);
+            assertDoesNotThrow(guard::sweep);
+            assertNotNull(execution.cancelReason());
+        }
+    }
+}
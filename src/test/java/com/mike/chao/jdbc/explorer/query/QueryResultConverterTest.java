@@ -0,0 +1,82 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mike.chao.jdbc.explorer.data.QueryColumn;
+import com.mike.chao.jdbc.explorer.data.QueryResult;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultConverterTest {
+
+    @Test
+    void testTemporalValuesAreWrittenAsIsoStrings() {
+        List<Object> row = Arrays.asList(LocalDate.of(2024, 1, 31), LocalDateTime.of(2024, 1, 31, 13, 45, 30),
+            OffsetDateTime.of(2024, 1, 31, 13, 45, 30, 0, ZoneOffset.UTC), new BigDecimal("3.30"), null);
+        QueryResult result = new QueryResult("compact", null, null, List.of(row), 1, false, null, null, null);
+
+        String json = new QueryResultConverter().convert(result, QueryResult.class);
+
+        assertTrue(json.contains("""
+            "data":[["2024-01-31","2024-01-31T13:45:30","2024-01-31T13:45:30Z",3.30,null]]"""), json);
+    }
+
+    @Test
+    void testRowViewsAreWrittenLikeTheirCopies() throws Exception {
+        List<QueryColumn> columns = List.of(new QueryColumn("id", "INTEGER"), new QueryColumn("name", "VARCHAR"),
+            new QueryColumn("id", "BIGINT"), new QueryColumn("ok", "BOOLEAN"));
+        RowBatch batch = new RowBatch(List.of(new Object[] {1, "a \"quoted\" name", 10L, true},
+            new Object[] {2, null, 20L, false}), null, 0);
+        ObjectMapper plainMapper = new ObjectMapper();
+        QueryResultConverter converter = new QueryResultConverter();
+
+        // a repeated column name keeps its first position and its last value, as in a map
+        Map<String, Object> first = batch.toMaps(columns).get(0);
+        assertEquals(List.of("id", "name", "ok"), List.copyOf(first.keySet()));
+        assertEquals(10L, first.get("id"));
+        assertEquals("""
+            [{"id":10,"name":"a \\"quoted\\" name","ok":true},{"id":20,"name":null,"ok":false}]""",
+            converter.convert(batch.toMaps(columns), List.class));
+        for (List<?> view : List.of(batch.toMaps(columns), batch.toRowArrays(), batch.toColumnArrays(4))) {
+            assertEquals(plainMapper.writeValueAsString(view), converter.convert(view, List.class));
+        }
+        assertEquals(List.of(List.of(1, 2), Arrays.asList("a \"quoted\" name", null), List.of(10L, 20L), List.of(true, false)),
+            batch.toColumnArrays(4));
+    }
+
+    @Test
+    void testLargeResultsAreNotKeptInThePool() {
+        String large = "x".repeat(QueryResultConverter.MAX_POOLED_BYTES + 1);
+        QueryResultConverter converter = new QueryResultConverter();
+
+        assertEquals("\"" + large + "\"", converter.convert(large, String.class));
+        assertEquals("[1]", converter.convert(List.of(1), List.class));
+    }
+
+    @Test
+    void testTemporalValuesMatchTheirToString() {
+        List<Temporal> values = List.of(LocalDate.of(2024, 1, 31), LocalDate.of(-50, 1, 1), LocalDate.of(12024, 1, 1),
+            LocalTime.of(0, 0), LocalTime.of(13, 45, 0, 1_000), LocalTime.of(13, 45, 30, 120_000_000),
+            LocalTime.of(13, 45, 30, 123_456_789), LocalDateTime.of(2024, 1, 31, 13, 45, 30, 500_000_000),
+            OffsetDateTime.of(2024, 1, 31, 13, 45, 0, 0, ZoneOffset.ofHoursMinutes(5, 30)),
+            OffsetTime.of(13, 45, 30, 0, ZoneOffset.ofHours(-2)), Instant.ofEpochSecond(1_700_000_000L));
+
+        for (Temporal value : values) {
+            assertEquals("\"" + value + "\"", new QueryResultConverter().convert(value, Temporal.class));
+        }
+    }
+}
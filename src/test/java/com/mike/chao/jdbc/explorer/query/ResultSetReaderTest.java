@@ -0,0 +1,110 @@
+package com.mike.chao.jdbc.explorer.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ResultSetReaderTest {
+
+    @Test
+    void testValuesAreReadAsJsonNativeTypes() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:reader-types");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE t (b BOOLEAN, i INT, l BIGINT, r REAL, d DOUBLE PRECISION, n DECIMAL(10, 2),
+                    c CLOB, bin VARBINARY(4), u UUID, j JSON, dt DATE, tm TIME, ts TIMESTAMP,
+                    tz TIMESTAMP WITH TIME ZONE, a INTEGER ARRAY)""");
+            stmt.execute("""
+                INSERT INTO t VALUES (TRUE, 42, 9000000000, 1.5, 2.25, 3.30, 'clob text', X'0102',
+                    '123e4567-e89b-12d3-a456-426614174000', JSON '{"a":1}', DATE '2024-01-31', TIME '13:45:00',
+                    TIMESTAMP '2024-01-31 13:45:30.5', TIMESTAMP WITH TIME ZONE '2024-01-31 13:45:30+02', ARRAY[1, 2])""");
+            stmt.execute("INSERT INTO t (b) VALUES (NULL)");
+
+            RowBatch batch = new ResultSetReader(stmt.executeQuery("SELECT * FROM t ORDER BY b DESC NULLS LAST"),
+                ResultFormat.COMPACT).read(0, 0);
+
+            Object[] row = batch.rows().get(0);
+            assertEquals(Boolean.TRUE, row[0]);
+            assertEquals(42, row[1]);
+            assertEquals(9_000_000_000L, row[2]);
+            assertEquals(1.5f, row[3]);
+            assertEquals(2.25, row[4]);
+            assertEquals(new BigDecimal("3.30"), row[5]);
+            assertEquals("clob text", row[6]);
+            assertArrayEquals(new byte[] {1, 2}, (byte[]) row[7]);
+            assertEquals("123e4567-e89b-12d3-a456-426614174000", row[8]);
+            assertEquals("{\"a\":1}", row[9]);
+            assertEquals(LocalDate.of(2024, 1, 31), row[10]);
+            assertEquals(LocalTime.of(13, 45), row[11]);
+            assertEquals(LocalDateTime.of(2024, 1, 31, 13, 45, 30, 500_000_000), row[12]);
+            assertEquals(OffsetDateTime.of(2024, 1, 31, 13, 45, 30, 0, ZoneOffset.ofHours(2)), row[13]);
+            assertEquals(List.of(1, 2), Arrays.asList((Object[]) row[14]));
+            assertTrue(Arrays.stream(batch.rows().get(1)).allMatch(value -> value == null));
+        }
+    }
+
+    @Test
+    void testUntypedColumnsKeepTheStoredValue() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement()) {
+            // SQLite stores whatever it is given, whatever the declared type
+            stmt.execute("CREATE TABLE t (created TIMESTAMP, amount DECIMAL(10, 2))");
+            stmt.execute("INSERT INTO t VALUES ('yesterday', 'n/a')");
+
+            RowBatch batch = new ResultSetReader(stmt.executeQuery("SELECT * FROM t"), ResultFormat.COMPACT, false)
+                .read(0, 0);
+
+            assertArrayEquals(new Object[] {"yesterday", "n/a"}, batch.rows().get(0));
+        }
+    }
+
+    @Test
+    void testPostgresTimestamptzIsReadWithItsOffset() throws SQLException {
+        // pgjdbc reports timestamptz as TIMESTAMP and throws when it is asked for a LocalDateTime
+        ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+        when(rsmd.getColumnType(1)).thenReturn(Types.TIMESTAMP);
+        when(rsmd.getColumnTypeName(1)).thenReturn("timestamptz");
+        when(rsmd.getColumnType(2)).thenReturn(Types.TIMESTAMP);
+        when(rsmd.getColumnTypeName(2)).thenReturn("timestamp");
+        OffsetDateTime now = OffsetDateTime.of(2024, 5, 1, 12, 30, 0, 0, ZoneOffset.ofHours(2));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1, LocalDateTime.class)).thenThrow(new SQLException(
+            "Cannot convert the column of type timestamptz to requested type java.time.LocalDateTime."));
+        when(rs.getObject(1, OffsetDateTime.class)).thenReturn(now);
+
+        ColumnReader reader = ColumnReader.forColumn(rsmd, 1);
+        assertEquals(ColumnReader.TIMESTAMP_WITH_TIMEZONE, reader);
+        assertEquals(now, reader.read(rs, 1));
+        assertEquals(ColumnReader.TIMESTAMP, ColumnReader.forColumn(rsmd, 2));
+    }
+
+    @Test
+    void testEstimateSize() {
+        assertEquals(4, ResultSetReader.estimateSize(null));
+        assertEquals(5, ResultSetReader.estimateSize("abc"));
+        assertEquals(3, ResultSetReader.estimateSize(123));
+        assertEquals(4, ResultSetReader.estimateSize(-123L));
+        assertEquals(1, ResultSetReader.estimateSize(0));
+        assertEquals(String.valueOf(Long.MIN_VALUE).length(), ResultSetReader.estimateSize(Long.MIN_VALUE));
+        assertEquals(5, ResultSetReader.estimateSize(false));
+        assertEquals(5, ResultSetReader.estimateSize(new BigDecimal("0.001")));
+        assertEquals(12, ResultSetReader.estimateSize(LocalDate.of(2024, 1, 31)));
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mike.chao.jdbc.explorer.session.McpSession;
+
 class BusinessInsightsTest {
 
     private BusinessInsights businessInsights;
@@ -51,4 +53,16 @@ class BusinessInsightsTest {
         assertTrue(result.contains("3. Third"));
         assertTrue(result.startsWith("📊 Business Intelligence Memo 📊"));
     }
+
+    @Test
+    void testInsightsAreKeptPerSession() {
+        McpSession.callAs("session-a", () -> {
+            businessInsights.addInsight("Only for A");
+            return null;
+        });
+
+        assertEquals("No insights yet", businessInsights.getInsights());
+        assertEquals("No insights yet", McpSession.callAs("session-b", businessInsights::getInsights));
+        assertTrue(McpSession.callAs("session-a", businessInsights::getInsights).contains("1. Only for A"));
+    }
 }
@@ -0,0 +1,25 @@
+package com.mike.chao.jdbc.explorer.session;
+
+import org.junit.jupiter.api.Test;
+
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpSessionTest {
+
+    @Test
+    void testCallsOfOneSessionShareAnId() {
+        assertDoesNotThrow(McpSession::requireSessionIds);
+
+        McpAsyncServerExchange first = new McpAsyncServerExchange(null, null, null);
+        McpAsyncServerExchange second = new McpAsyncServerExchange(null, null, null);
+        String id = McpSession.id(new McpSyncServerExchange(first));
+
+        assertNotEquals(McpSession.DEFAULT_ID, id);
+        assertEquals(id, McpSession.id(new McpSyncServerExchange(first)));
+        assertNotEquals(id, McpSession.id(new McpSyncServerExchange(second)));
+        assertEquals(McpSession.DEFAULT_ID, McpSession.id(null));
+    }
+}
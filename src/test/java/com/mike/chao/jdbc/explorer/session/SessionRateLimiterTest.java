@@ -0,0 +1,77 @@
+package com.mike.chao.jdbc.explorer.session;
+
+import org.junit.jupiter.api.Test;
+
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SessionRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testBurstThenRefill() {
+        var limiter = new SessionRateLimiter(2, 3, clock::get);
+
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+
+        clock.addAndGet(500_000_000L);
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void testSessionsHaveSeparateLimits() {
+        var limiter = new SessionRateLimiter(1, 1, clock::get);
+
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void testUnlimited() {
+        var limiter = SessionRateLimiter.unlimited();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire("a"));
+        }
+    }
+
+    @Test
+    void testBindRunsToolInCallingSession() {
+        var limiter = new SessionRateLimiter(1, 1, clock::get);
+        var spec = limiter.bind(new McpServerFeatures.SyncToolSpecification(
+            new McpSchema.Tool("whoAmI", "description", "{}"),
+            (exchange, args) -> new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(McpSession.current())), false)));
+        var sessionA = mock(McpAsyncServerExchange.class);
+        var sessionB = mock(McpAsyncServerExchange.class);
+
+        String first = text(spec.call().apply(new McpSyncServerExchange(sessionA), Map.of()));
+        McpSchema.CallToolResult limited = spec.call().apply(new McpSyncServerExchange(sessionA), Map.of());
+        String other = text(spec.call().apply(new McpSyncServerExchange(sessionB), Map.of()));
+
+        assertNotEquals(McpSession.DEFAULT_ID, first);
+        assertTrue(limited.isError());
+        assertNotEquals(first, other);
+        assertEquals(McpSession.DEFAULT_ID, McpSession.current());
+        clock.addAndGet(1_000_000_000L);
+        assertEquals(first, text(spec.call().apply(new McpSyncServerExchange(sessionA), Map.of())));
+    }
+
+    private static String text(McpSchema.CallToolResult result) {
+        return ((McpSchema.TextContent) result.content().get(0)).text();
+    }
+}
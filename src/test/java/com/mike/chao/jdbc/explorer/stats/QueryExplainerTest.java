@@ -0,0 +1,95 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import org.junit.jupiter.api.Test;
+
+import com.mike.chao.jdbc.explorer.config.Dialect;
+import com.mike.chao.jdbc.explorer.data.QueryParameter;
+import com.mike.chao.jdbc.explorer.data.QueryPlan;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryExplainerTest {
+
+    @Test
+    void testSqliteFullScansAreMultiplied() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE customers (id INTEGER PRIMARY KEY, name TEXT)");
+            stmt.execute("CREATE TABLE orders (id INTEGER PRIMARY KEY, customer_id INTEGER)");
+            stmt.execute("CREATE INDEX orders_customer ON orders (customer_id)");
+            stmt.execute("""
+                WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n WHERE x < 200)
+                INSERT INTO customers (id) SELECT x FROM n""");
+            stmt.execute("""
+                WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n WHERE x < 500)
+                INSERT INTO orders (id, customer_id) SELECT x, x % 200 FROM n""");
+
+            QueryPlan cartesian = QueryExplainer.explain(conn, execution, Dialect.SQLITE,
+                "SELECT * FROM customers c, orders AS o", null);
+            assertEquals(List.of("customers", "orders"), cartesian.fullScans());
+            assertEquals(100_000L, cartesian.estimatedRows());
+            assertNull(cartesian.estimatedCost());
+
+            QueryPlan seek = QueryExplainer.explain(conn, execution, Dialect.SQLITE,
+                "SELECT * FROM orders WHERE customer_id = ?", List.of(new QueryParameter("integer", "7")));
+            assertEquals(List.of(), seek.fullScans());
+            assertNull(seek.estimatedRows());
+            assertTrue(seek.plan().startsWith("SEARCH orders"), seek.plan());
+        }
+    }
+
+    @Test
+    void testH2IndexScansWithoutConditionAreFullScans() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:query-explainer");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE customers (id INT PRIMARY KEY)");
+            stmt.execute("CREATE TABLE orders (id INT PRIMARY KEY, customer_id INT)");
+            stmt.execute("CREATE INDEX orders_customer ON orders (customer_id)");
+            stmt.execute("INSERT INTO customers SELECT x FROM SYSTEM_RANGE(1, 30)");
+            stmt.execute("INSERT INTO orders SELECT x, MOD(x, 30) FROM SYSTEM_RANGE(1, 40)");
+
+            QueryPlan cartesian = QueryExplainer.explain(conn, execution, Dialect.H2,
+                "SELECT * FROM customers c, orders o", null);
+            assertEquals(List.of("PUBLIC.CUSTOMERS", "PUBLIC.ORDERS"), cartesian.fullScans());
+            assertEquals(1200L, cartesian.estimatedRows());
+
+            QueryPlan join = QueryExplainer.explain(conn, execution, Dialect.H2,
+                "SELECT * FROM customers c JOIN orders o ON o.customer_id = c.id", null);
+            assertEquals(List.of("PUBLIC.CUSTOMERS"), join.fullScans());
+            assertEquals(30L, join.estimatedRows());
+        }
+    }
+
+    @Test
+    void testPostgresPlan() throws Exception {
+        QueryPlan plan = QueryExplainer.postgresPlan("""
+            [{"Plan": {"Node Type": "Nested Loop", "Total Cost": 25040.5, "Plan Rows": 1000000,
+              "Plans": [{"Node Type": "Seq Scan", "Relation Name": "customers", "Total Cost": 20.0, "Plan Rows": 1000},
+                        {"Node Type": "Index Scan", "Relation Name": "orders", "Total Cost": 8.3, "Plan Rows": 1}]}}]""");
+        assertEquals(25040.5, plan.estimatedCost());
+        assertEquals(1_000_000L, plan.estimatedRows());
+        assertEquals(List.of("customers"), plan.fullScans());
+    }
+
+    @Test
+    void testMySqlPlan() throws Exception {
+        QueryPlan plan = QueryExplainer.mySqlPlan("""
+            {"query_block": {"select_id": 1, "cost_info": {"query_cost": "2016.25"},
+              "nested_loop": [
+                {"table": {"table_name": "c", "access_type": "ALL", "rows_examined_per_scan": 100, "rows_produced_per_join": 100}},
+                {"table": {"table_name": "o", "access_type": "ref", "rows_examined_per_scan": 20, "rows_produced_per_join": 2000}}]}}""");
+        assertEquals(2016.25, plan.estimatedCost());
+        assertEquals(2000L, plan.estimatedRows());
+        assertEquals(List.of("c"), plan.fullScans());
+    }
+}
@@ -0,0 +1,83 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SketchesTest {
+
+    @Test
+    void testHyperLogLogEstimatesDistinctValues() {
+        HyperLogLog small = new HyperLogLog();
+        HyperLogLog large = new HyperLogLog();
+        for (int i = 0; i < 200_000; i++) {
+            if (i < 1000) {
+                small.add("value-" + (i % 100));
+            }
+            large.add((long) i);
+            large.add((long) i);
+        }
+        assertEquals(100, small.estimate());
+        assertEquals(200_000, large.estimate(), 200_000 * 0.05);
+    }
+
+    @Test
+    void testHyperLogLogHashesEqualNumbersAlike() {
+        assertEquals(HyperLogLog.hash(42L), HyperLogLog.hash(42));
+        assertEquals(HyperLogLog.hash(42L), HyperLogLog.hash(42.0));
+        assertEquals(HyperLogLog.hash(new BigDecimal("1.50")), HyperLogLog.hash(new BigDecimal("1.5")));
+        assertNotEquals(HyperLogLog.hash("ab"), HyperLogLog.hash("ba"));
+    }
+
+    @Test
+    void testSpaceSavingFindsHeavyHitters() {
+        SpaceSaving frequent = new SpaceSaving(20);
+        for (int i = 0; i < 100_000; i++) {
+            // "a" 10%, "b" 5%, the rest are all distinct
+            frequent.add(i % 10 == 0 ? "a" : i % 20 == 1 ? "b" : "unique-" + i);
+        }
+        List<SpaceSaving.Counter> top = frequent.top(2, 2);
+        assertEquals(List.of("a", "b"), top.stream().map(SpaceSaving.Counter::value).toList());
+        for (SpaceSaving.Counter counter : top) {
+            long actual = counter.value().equals("a") ? 10_000 : 5_000;
+            assertTrue(counter.count() >= actual && counter.count() - counter.error() <= actual, counter.toString());
+        }
+    }
+
+    @Test
+    void testSpaceSavingCountsExactlyWithinCapacity() {
+        SpaceSaving frequent = new SpaceSaving(10);
+        for (String value : List.of("x", "y", "x", "z", "x", "y")) {
+            frequent.add(value);
+        }
+        assertEquals(List.of(new SpaceSaving.Counter("x", 3, 0), new SpaceSaving.Counter("y", 2, 0)), frequent.top(10, 2));
+    }
+
+    @Test
+    void testKllSketchEstimatesQuantiles() {
+        KllSketch sketch = new KllSketch();
+        SplittableRandom random = new SplittableRandom(7);
+        int n = 500_000;
+        for (int i = 0; i < n; i++) {
+            sketch.add(random.nextInt(n));
+        }
+        double[] estimates = sketch.quantiles(0.05, 0.5, 0.95);
+        assertEquals(0.05 * n, estimates[0], 0.02 * n);
+        assertEquals(0.5 * n, estimates[1], 0.02 * n);
+        assertEquals(0.95 * n, estimates[2], 0.02 * n);
+    }
+
+    @Test
+    void testKllSketchIsExactForShortStreams() {
+        KllSketch sketch = new KllSketch();
+        for (int i = 1; i <= 100; i++) {
+            sketch.add(i);
+        }
+        assertArrayEquals(new double[] {1, 50, 100}, sketch.quantiles(0, 0.5, 1));
+        assertTrue(Double.isNaN(new KllSketch().quantiles(0.5)[0]));
+    }
+}
@@ -0,0 +1,152 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import org.junit.jupiter.api.Test;
+
+import com.mike.chao.jdbc.explorer.config.Dialect;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableSamplerTest {
+
+    @Test
+    void testKeyProbesAreReproducibleWithTheSameSeed() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE events (id INTEGER PRIMARY KEY)");
+            stmt.execute("""
+                WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n WHERE x < 5000)
+                INSERT INTO events (id) SELECT x * 3 FROM n""");
+
+            TableSampler.Sample sample = TableSampler.plan(conn, execution, Dialect.SQLITE, null, null, "events",
+                "id", 50, null, 42, 0);
+            assertEquals(TableSampler.KEY_PROBE, sample.method());
+            List<Long> ids = ids(stmt, sample.sql());
+            assertEquals(50, ids.size());
+            assertTrue(ids.stream().allMatch(id -> id % 3 == 0));
+
+            assertEquals(sample, TableSampler.plan(conn, execution, Dialect.SQLITE, null, null, "events",
+                "id", 50, null, 42, 0));
+            assertNotEquals(ids, ids(stmt, TableSampler.plan(conn, execution, Dialect.SQLITE, null, null, "events",
+                "id", 50, null, 43, 0).sql()));
+        }
+    }
+
+    @Test
+    void testPercentSamplesAShareOfTheTable() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:table-sampler");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE readings (id BIGINT PRIMARY KEY)");
+            stmt.execute("INSERT INTO readings SELECT x FROM SYSTEM_RANGE(1, 20000)");
+
+            TableSampler.Sample sample = TableSampler.plan(conn, execution, Dialect.H2, null, null, "READINGS",
+                "id", null, 0.5, 7, 0);
+            assertEquals(100, ids(stmt, sample.sql()).size());
+        }
+    }
+
+    @Test
+    void testSmallTablesAreReadWhole() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE tiny (id INTEGER PRIMARY KEY)");
+            stmt.execute("INSERT INTO tiny (id) VALUES (1), (2), (3)");
+
+            TableSampler.Sample sample = TableSampler.plan(conn, execution, Dialect.SQLITE, null, null, "tiny",
+                "id", 10, null, 1, 0);
+            assertEquals(TableSampler.ALL, sample.method());
+            assertEquals(List.of(1L, 2L, 3L), ids(stmt, sample.sql()));
+
+            // rows added since the estimate was read are not returned beyond the rows asked for
+            stmt.execute("INSERT INTO tiny (id) VALUES (4), (5), (6), (7), (8), (9), (10), (11), (12)");
+            assertEquals(10, ids(stmt, sample.sql()).size());
+        }
+    }
+
+    @Test
+    void testKeyProbesAreCappedByTheResultLimit() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:table-sampler-cap");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE readings (id BIGINT PRIMARY KEY)");
+            stmt.execute("INSERT INTO readings SELECT x FROM SYSTEM_RANGE(1, 50000)");
+
+            TableSampler.Sample capped = TableSampler.plan(conn, execution, Dialect.H2, null, null, "READINGS",
+                "id", null, 50.0, 7, 100);
+            assertEquals(101, ids(stmt, capped.sql()).size());
+
+            var e = assertThrows(IllegalArgumentException.class, () -> TableSampler.plan(conn, execution, Dialect.H2,
+                null, null, "READINGS", "id", null, 50.0, 7, 0));
+            assertTrue(e.getMessage().contains("at most 10000 rows"), e.getMessage());
+        }
+    }
+
+    @Test
+    void testPercentCountsTheTableWhenTheEstimateIsZero() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE events (id INTEGER PRIMARY KEY)");
+            stmt.execute("ANALYZE");
+            stmt.execute("INSERT INTO sqlite_stat1 (tbl, idx, stat) VALUES ('events', NULL, '0')");
+            stmt.execute("""
+                WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n WHERE x < 1000)
+                INSERT INTO events (id) SELECT x FROM n""");
+
+            TableSampler.Sample sample = TableSampler.plan(conn, execution, Dialect.SQLITE, null, null, "events",
+                "id", null, 10.0, 7, 0);
+            assertEquals(100, ids(stmt, sample.sql()).size());
+        }
+    }
+
+    @Test
+    void testRandomKeysIncludeTheLargestKey() {
+        SplittableRandom random = new SplittableRandom(1);
+        Set<Long> keys = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(TableSampler.randomKey(random, 1, 2));
+        }
+        assertEquals(Set.of(1L, 2L), keys);
+        assertEquals(5, TableSampler.randomKey(random, 5, 5));
+        assertTrue(TableSampler.randomKey(random, Long.MAX_VALUE - 1, Long.MAX_VALUE) >= Long.MAX_VALUE - 1);
+        assertEquals(Long.MAX_VALUE, TableSampler.randomKey(random, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testIntegerTypes() {
+        assertTrue(TableSampler.isIntegerType("INTEGER"));
+        assertTrue(TableSampler.isIntegerType("bigint unsigned"));
+        assertTrue(TableSampler.isIntegerType("int8"));
+        assertFalse(TableSampler.isIntegerType("NUMERIC"));
+        assertFalse(TableSampler.isIntegerType("VARCHAR"));
+    }
+
+    private static List<Long> ids(Statement stmt, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mike.chao.jdbc.explorer.stats;
+
+import org.junit.jupiter.api.Test;
+
+import com.mike.chao.jdbc.explorer.data.TableStats;
+import com.mike.chao.jdbc.explorer.query.QueryGuard;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableStatsReaderTest {
+
+    @Test
+    void testSqliteTablesAreCountedUntilAnalyzed() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE events (id INTEGER PRIMARY KEY, kind TEXT)");
+            stmt.execute("CREATE INDEX events_kind ON events (kind)");
+            stmt.execute("CREATE TABLE empty (id INTEGER)");
+            insertRows(stmt, "events", 500);
+
+            List<TableStats> counted = TableStatsReader.read(conn, execution, null, null, null);
+            assertEquals(List.of(new TableStats(null, null, "events", 500L, null, null, TableStatsReader.COUNT),
+                new TableStats(null, null, "empty", 0L, null, null, TableStatsReader.COUNT)), counted);
+
+            stmt.execute("ANALYZE");
+            insertRows(stmt, "empty", 3);
+            // the statistics are not updated by later writes, only by the next ANALYZE
+            stmt.execute("INSERT INTO events (kind) VALUES ('late')");
+            assertEquals(List.of(new TableStats(null, null, "events", 500L, null, null, TableStatsReader.STATISTICS)),
+                TableStatsReader.read(conn, execution, null, null, "events"));
+        }
+    }
+
+    @Test
+    void testLargeTablesAreCountedUpToTheLimit() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE TABLE big (id INTEGER PRIMARY KEY)");
+            insertRows(stmt, "big", TableStatsReader.COUNT_LIMIT + 10);
+
+            TableStats stats = TableStatsReader.read(conn, execution, null, null, "big").get(0);
+            assertEquals(TableStatsReader.COUNT_LIMIT, stats.estimatedRows());
+            assertEquals(TableStatsReader.COUNT_LIMITED, stats.source());
+        }
+    }
+
+    @Test
+    void testH2RowCountsComeFromInformationSchema() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:table-stats");
+             Statement stmt = conn.createStatement();
+             QueryGuard guard = QueryGuard.defaults();
+             QueryGuard.Execution execution = guard.admit()) {
+            stmt.execute("CREATE SCHEMA sales");
+            stmt.execute("CREATE TABLE sales.orders (id INT PRIMARY KEY)");
+            stmt.execute("INSERT INTO sales.orders SELECT x FROM SYSTEM_RANGE(1, 1234)");
+            stmt.execute("CREATE VIEW sales.big_orders AS SELECT * FROM sales.orders WHERE id > 1000");
+
+            assertEquals(List.of(), TableStatsReader.read(conn, execution, null, null, null));
+            assertEquals(List.of(new TableStats("TABLE-STATS", "SALES", "ORDERS", 1234L, null, null, TableStatsReader.STATISTICS)),
+                TableStatsReader.read(conn, execution, null, "SALES", null));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TableStatsReader.read(conn, execution, null, "SALES", "BIG_ORDERS"));
+            assertEquals("Table 'BIG_ORDERS' does not exist in the database.", e.getMessage());
+        }
+    }
+
+    private static void insertRows(Statement stmt, String table, long rows) throws SQLException {
+        stmt.execute("""
+            WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n WHERE x < %d)
+            INSERT INTO %s (id) SELECT x FROM n""".formatted(rows, table));
+    }
+}
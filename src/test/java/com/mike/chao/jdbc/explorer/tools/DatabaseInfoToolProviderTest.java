@@ -114,6 +114,38 @@ class DatabaseInfoToolProviderTest {
         ));
     }
 
+    @Test
+    void testGetDatabaseInfoToolCachesResultUntilRefresh() throws Exception {
+        DataSource dataSource = spy(h2DataSource);
+        DatabaseInfoToolProvider provider = new DatabaseInfoToolProvider(dataSource, new ObjectMapper());
+        McpServerFeatures.SyncToolSpecification spec = provider.getDatabaseInfoTool();
+        McpSyncServerExchange exchange = mock(McpSyncServerExchange.class);
+
+        CallToolResult first = spec.call().apply(exchange, Map.of());
+        CallToolResult second = spec.call().apply(exchange, Map.of());
+        verify(dataSource, times(1)).getConnection();
+        assertSame(((TextContent) first.content().get(0)).text(), ((TextContent) second.content().get(0)).text());
+
+        CallToolResult refreshed = spec.call().apply(exchange, Map.of("refresh", true));
+        verify(dataSource, times(2)).getConnection();
+        assertFalse(refreshed.isError());
+        assertEquals(((TextContent) first.content().get(0)).text(), ((TextContent) refreshed.content().get(0)).text());
+    }
+
+    @Test
+    void testGetDatabaseInfoToolDoesNotCacheFailures() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection())
+            .thenThrow(new SQLException("Simulated DB error"))
+            .thenAnswer(invocation -> h2DataSource.getConnection());
+        DatabaseInfoToolProvider provider = new DatabaseInfoToolProvider(dataSource, new ObjectMapper());
+        McpServerFeatures.SyncToolSpecification spec = provider.getDatabaseInfoTool();
+        McpSyncServerExchange exchange = mock(McpSyncServerExchange.class);
+
+        assertTrue(spec.call().apply(exchange, Map.of()).isError());
+        assertFalse(spec.call().apply(exchange, Map.of()).isError());
+    }
+
     // Helper to create an H2 in-memory DataSource
     private DataSource createH2DataSource() {
         JdbcDataSource ds = new JdbcDataSource();